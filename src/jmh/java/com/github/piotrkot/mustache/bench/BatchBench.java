@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.Batch;
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Template;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mail merge throughput, in renders per second, rendering one template
+ * against many recipients.
+ *
+ * @since 1.4
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBench {
+    /**
+     * Number of recipients of one batch.
+     */
+    private static final int SIZE = 10_000;
+
+    /**
+     * Template content.
+     */
+    private static final String CONTENT = String.join(
+        "\n",
+        "Dear {{name}},",
+        "{{#vip}}Thank you for being with us for {{years}} years.{{/vip}}",
+        "{{^vip}}Join our programme today.{{/vip}}",
+        "Your order {{order}} ships to {{city}}."
+    );
+
+    /**
+     * Recipients.
+     */
+    private List<Map<CharSequence, Object>> recipients;
+
+    /**
+     * Template.
+     */
+    private Template template;
+
+    /**
+     * Executor of renders.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Prepares recipients.
+     */
+    @Setup
+    public void setup() {
+        this.recipients = new ArrayList<>(BatchBench.SIZE);
+        for (int idx = 0; idx < BatchBench.SIZE; idx += 1) {
+            final Map<CharSequence, Object> pairs = new HashMap<>(5);
+            pairs.put("name", String.format("Recipient %d", idx));
+            pairs.put("vip", idx % 3 == 0);
+            pairs.put("years", idx % 10);
+            pairs.put("order", idx);
+            pairs.put("city", "Warsaw");
+            this.recipients.add(pairs);
+        }
+        this.template = new Mustache(BatchBench.CONTENT);
+        this.executor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    /**
+     * Stops executor.
+     */
+    @TearDown
+    public void teardown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Renders recipients in a loop, output of each kept as string.
+     * @return Total length of outputs.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BatchBench.SIZE)
+    public long loop() throws IOException {
+        long total = 0;
+        for (final Map<CharSequence, Object> pairs : this.recipients) {
+            total += this.template.supply(pairs).length();
+        }
+        return total;
+    }
+
+    /**
+     * Renders recipients in batch by calling thread, reusing buffer.
+     * @return Total length of outputs.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BatchBench.SIZE)
+    public long sequential() throws IOException {
+        final LongAdder total = new LongAdder();
+        new Batch(this.template).supply(
+            this.recipients, (index, output) -> total.add(output.length())
+        );
+        return total.sum();
+    }
+
+    /**
+     * Renders recipients in batch on executor, delivered as completed.
+     * @return Total length of outputs.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BatchBench.SIZE)
+    public long unordered() throws IOException {
+        final LongAdder total = new LongAdder();
+        new Batch(this.template, this.executor, false).supply(
+            this.recipients, (index, output) -> total.add(output.length())
+        );
+        return total.sum();
+    }
+}
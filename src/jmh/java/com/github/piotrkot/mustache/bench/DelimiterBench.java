@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.AbstractMustache;
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Template;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The same template with default and custom delimiters. Rendering should
+ * cost the same with any delimiters.
+ *
+ * @since 1.4
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class DelimiterBench {
+    /**
+     * Template content with default delimiters.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "<h1>{{title}}</h1>{{#rows}}<tr><td>{{name}}</td></tr>{{/rows}}",
+        "{{^rows}}<tr><td>none</td></tr>{{/rows}}<p>{{footer}}</p>"
+    );
+
+    /**
+     * Variables.
+     */
+    private Map<CharSequence, Object> pairs;
+
+    /**
+     * Template with default delimiters.
+     */
+    private Template curly;
+
+    /**
+     * Template with custom delimiters.
+     */
+    private Template square;
+
+    /**
+     * Prepares templates.
+     */
+    @Setup
+    public void setup() {
+        final Map<CharSequence, Object> row = new HashMap<>(1);
+        row.put("name", "row");
+        this.pairs = new HashMap<>(3);
+        this.pairs.put("title", "Delimiters");
+        this.pairs.put("rows", Arrays.asList(row, row, row, row));
+        this.pairs.put("footer", "end");
+        this.curly = new Mustache(DelimiterBench.CONTENT);
+        this.square = new DelimiterBench.SquareMustache(
+            DelimiterBench.CONTENT.replace("{{", "[[").replace("}}", "]]")
+        );
+    }
+
+    /**
+     * Renders template with default delimiters.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String curly() throws IOException {
+        return this.curly.supply(this.pairs);
+    }
+
+    /**
+     * Renders template with custom delimiters.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String square() throws IOException {
+        return this.square.supply(this.pairs);
+    }
+
+    /**
+     * Mustache with square delimiters.
+     * @since 1.4
+     */
+    private static final class SquareMustache extends AbstractMustache {
+        /**
+         * Constructor.
+         * @param content Template content.
+         */
+        SquareMustache(final String content) {
+            super(content);
+        }
+
+        @Override
+        public String start() {
+            return "[[";
+        }
+
+        @Override
+        public String end() {
+            return "]]";
+        }
+    }
+}
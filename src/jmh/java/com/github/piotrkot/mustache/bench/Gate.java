@@ -0,0 +1,338 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Regression gate. Runs a fixed set of render benchmarks with the GC
+ * profiler and compares time and bytes allocated per operation against
+ * a baseline file, failing when any of them grows above its tolerance or
+ * is not measured anymore. Time is kept relative to {@link ReferenceBench}
+ * measured in the same session, so baseline taken on one machine holds on
+ * another. Arguments are the baseline file, time tolerance, allocation
+ * tolerance, both as fractions, and whether to write the baseline instead.
+ *
+ * @since 1.4
+ */
+public final class Gate {
+    /**
+     * Benchmarks guarded by the gate.
+     */
+    private static final String[] GUARDED = {
+        "VariableBench\\.(supply|tag)$",
+        "NestingBench\\.supply$",
+        "ListBench\\.maps$",
+        "PartialBench\\.(string|path)$",
+        "DelimiterBench\\.square$",
+        "ReusedBench\\.(map|context)$",
+        "ReferenceBench\\.join$",
+    };
+
+    /**
+     * Benchmark time of others is relative to.
+     */
+    private static final String REFERENCE = "ReferenceBench.join";
+
+    /**
+     * Allocation per operation which is never a regression, in bytes.
+     */
+    private static final double SLACK = 16;
+
+    /**
+     * Secondary result of bytes allocated per operation.
+     */
+    private static final String NORM = "gc.alloc.rate.norm";
+
+    /**
+     * Baseline file.
+     */
+    private final Path baseline;
+
+    /**
+     * Tolerated growth of time per operation.
+     */
+    private final double time;
+
+    /**
+     * Tolerated growth of bytes allocated per operation.
+     */
+    private final double alloc;
+
+    /**
+     * Constructor.
+     * @param file Baseline file.
+     * @param slower Tolerated growth of time per operation.
+     * @param heavier Tolerated growth of bytes allocated per operation.
+     */
+    public Gate(final Path file, final double slower, final double heavier) {
+        this.baseline = file;
+        this.time = slower;
+        this.alloc = heavier;
+    }
+
+    /**
+     * Entry point.
+     * @param args Baseline file, time tolerance, allocation tolerance and
+     *  whether to update baseline, and report file.
+     * @throws Exception When fails.
+     */
+    @SuppressWarnings("PMD.DoNotCallSystemExit")
+    public static void main(final String... args) throws Exception {
+        final Gate gate = new Gate(
+            Paths.get(args[0]),
+            Double.parseDouble(args[1]),
+            Double.parseDouble(args[2])
+        );
+        final Map<String, Double> current = Gate.relative(Gate.measured());
+        if (Boolean.parseBoolean(args[3])) {
+            gate.save(current);
+        } else if (!gate.passed(current, Paths.get(args[4]))) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares metrics with baseline and writes report.
+     * @param current Measured metrics.
+     * @param report Report file.
+     * @return True if nothing regressed and nothing of baseline is missing.
+     * @throws IOException When fails.
+     */
+    @SuppressWarnings("PMD.SystemPrintln")
+    public boolean passed(final Map<String, Double> current,
+        final Path report) throws IOException {
+        final Properties base = new Properties();
+        try (Reader reader = Files.newBufferedReader(this.baseline)) {
+            base.load(reader);
+        }
+        final StringBuilder text = new StringBuilder(0).append(
+            String.format(
+                "%-48s %14s %14s %9s  %s%n",
+                "benchmark", "baseline", "current", "change", "status"
+            )
+        );
+        boolean passed = true;
+        for (final String key : new TreeSet<>(base.stringPropertyNames())) {
+            if (!current.containsKey(key)) {
+                passed = false;
+                text.append(
+                    String.format(
+                        "%-48s %14s %14s %9s  %s%n", key,
+                        base.getProperty(key), "-", "-", "MISSING"
+                    )
+                );
+            }
+        }
+        for (final Map.Entry<String, Double> metric : current.entrySet()) {
+            final String status;
+            final String old = base.getProperty(metric.getKey());
+            if (old == null) {
+                status = "new";
+                text.append(
+                    String.format(
+                        "%-48s %14s %14.3f %9s  %s%n", metric.getKey(), "-",
+                        metric.getValue(), "-", status
+                    )
+                );
+            } else {
+                final double before = Double.parseDouble(old);
+                if (this.regressed(metric.getKey(), before, metric.getValue())) {
+                    status = "REGRESSED";
+                    passed = false;
+                } else {
+                    status = "ok";
+                }
+                text.append(
+                    String.format(
+                        "%-48s %14.3f %14.3f %+8.1f%%  %s%n", metric.getKey(),
+                        before, metric.getValue(),
+                        Gate.change(before, metric.getValue()), status
+                    )
+                );
+            }
+        }
+        System.out.print(text);
+        Files.write(report, text.toString().getBytes(StandardCharsets.UTF_8));
+        return passed;
+    }
+
+    /**
+     * Writes metrics as new baseline.
+     * @param current Measured metrics.
+     * @throws IOException When fails.
+     */
+    public void save(final Map<String, Double> current) throws IOException {
+        final StringBuilder text = new StringBuilder(64)
+            .append("# Render benchmarks baseline, time relative to ")
+            .append(Gate.REFERENCE)
+            .append(" and B/op\n");
+        for (final Map.Entry<String, Double> metric : current.entrySet()) {
+            text.append(
+                String.format(
+                    "%s=%.3f%n", metric.getKey(), metric.getValue()
+                )
+            );
+        }
+        Files.write(
+            this.baseline, text.toString().getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Whether metric grew above its tolerance.
+     * @param name Metric name.
+     * @param before Baseline value.
+     * @param after Current value.
+     * @return True if regressed.
+     */
+    private boolean regressed(final String name, final double before,
+        final double after) {
+        final boolean regressed;
+        if (name.endsWith(".bytes")) {
+            regressed = after > before * (1 + this.alloc) + Gate.SLACK;
+        } else {
+            regressed = after > before * (1 + this.time);
+        }
+        return regressed;
+    }
+
+    /**
+     * Metrics with time relative to reference benchmark, which itself is
+     * left out.
+     * @param measured Time and bytes allocated per operation by benchmark.
+     * @return Relative time and bytes allocated per operation by benchmark.
+     */
+    private static Map<String, Double> relative(
+        final Map<String, Double> measured) {
+        final double reference = measured.get(
+            String.format("%s.ns", Gate.REFERENCE)
+        );
+        final Map<String, Double> metrics = new TreeMap<>();
+        for (final Map.Entry<String, Double> metric : measured.entrySet()) {
+            final String key = metric.getKey();
+            if (key.endsWith(".ns")) {
+                metrics.put(
+                    key.replaceAll("\\.ns$", ".ratio"),
+                    metric.getValue() / reference
+                );
+            } else {
+                metrics.put(key, metric.getValue());
+            }
+        }
+        metrics.remove(String.format("%s.ratio", Gate.REFERENCE));
+        metrics.remove(String.format("%s.bytes", Gate.REFERENCE));
+        return metrics;
+    }
+
+    /**
+     * Runs guarded benchmarks.
+     * @return Time and bytes allocated per operation by benchmark.
+     * @throws RunnerException When fails.
+     */
+    private static Map<String, Double> measured() throws RunnerException {
+        final OptionsBuilder options = new OptionsBuilder();
+        for (final String name : Gate.GUARDED) {
+            options.include(name);
+        }
+        final Collection<RunResult> results = new Runner(
+            options.mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .param("size", "1000")
+                .param("depth", "8")
+                .param("width", "32")
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+        final Map<String, Double> metrics = new TreeMap<>();
+        for (final RunResult result : results) {
+            final String name = Gate.name(result.getParams());
+            metrics.put(
+                String.format("%s.ns", name),
+                result.getPrimaryResult().getScore()
+            );
+            metrics.put(
+                String.format("%s.bytes", name),
+                result.getSecondaryResults().get(Gate.NORM).getScore()
+            );
+        }
+        return metrics;
+    }
+
+    /**
+     * Short name of benchmark with its parameters.
+     * @param params Benchmark parameters.
+     * @return Name.
+     */
+    private static String name(final BenchmarkParams params) {
+        final String full = params.getBenchmark();
+        final StringBuilder name = new StringBuilder(
+            full.substring(full.lastIndexOf('.', full.lastIndexOf('.') - 1) + 1)
+        );
+        for (final String key : params.getParamsKeys()) {
+            name.append('.').append(key).append(params.getParam(key));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Change of value in percents.
+     * @param before Baseline value.
+     * @param after Current value.
+     * @return Change.
+     */
+    private static double change(final double before, final double after) {
+        final double change;
+        if (before > 0) {
+            change = (after - before) / before * 100;
+        } else {
+            change = 0;
+        }
+        return change;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Template;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Section iterating over lists of growing size, with items given as maps
+ * and as objects read by accessors.
+ *
+ * @since 1.4
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class ListBench {
+    /**
+     * Template content.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "<ul>{{#items}}<li id=\"{{id}}\">{{name}}",
+        "{{#active}} (active){{/active}}</li>{{/items}}</ul>"
+    );
+
+    /**
+     * Number of list items.
+     */
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /**
+     * Items as maps.
+     */
+    private Map<CharSequence, Object> maps;
+
+    /**
+     * Items as objects.
+     */
+    private Map<CharSequence, Object> beans;
+
+    /**
+     * Compiled template.
+     */
+    private Template template;
+
+    /**
+     * Prepares list items.
+     */
+    @Setup
+    public void setup() {
+        final List<Object> items = new ArrayList<>(this.size);
+        final List<Object> objects = new ArrayList<>(this.size);
+        for (int idx = 0; idx < this.size; idx += 1) {
+            final Map<CharSequence, Object> item = new HashMap<>(3);
+            item.put("id", idx);
+            item.put("name", String.format("item %d", idx));
+            item.put("active", idx % 2 == 0);
+            items.add(item);
+            objects.add(
+                new ListBench.Item(idx, String.format("item %d", idx))
+            );
+        }
+        this.maps = new HashMap<>(1);
+        this.maps.put("items", items);
+        this.beans = new HashMap<>(1);
+        this.beans.put("items", objects);
+        this.template = new Mustache(ListBench.CONTENT);
+    }
+
+    /**
+     * Renders items given as maps.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String maps() throws IOException {
+        return this.template.supply(this.maps);
+    }
+
+    /**
+     * Renders items given as objects.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String beans() throws IOException {
+        return this.template.supply(this.beans);
+    }
+
+    /**
+     * List item.
+     * @since 1.4
+     */
+    public static final class Item {
+        /**
+         * Identifier.
+         */
+        private final int ident;
+
+        /**
+         * Name.
+         */
+        private final String label;
+
+        /**
+         * Constructor.
+         * @param ident Identifier.
+         * @param label Name.
+         */
+        Item(final int ident, final String label) {
+            this.ident = ident;
+            this.label = label;
+        }
+
+        /**
+         * Identifier.
+         * @return Identifier.
+         */
+        public int getId() {
+            return this.ident;
+        }
+
+        /**
+         * Name.
+         * @return Name.
+         */
+        public String getName() {
+            return this.label;
+        }
+
+        /**
+         * Whether item is active.
+         * @return True if active.
+         */
+        public boolean isActive() {
+            return this.ident % 2 == 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Template;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sections and inverted sections nested deep and repeated wide. Every
+ * level of nesting holds a variable, a section going deeper and an
+ * inverted section that is rendered too.
+ *
+ * @since 1.4
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NestingBench {
+    /**
+     * Nesting depth of sections.
+     */
+    @Param({"1", "8", "32"})
+    public int depth;
+
+    /**
+     * Number of nested sections side by side.
+     */
+    @Param({"1", "32"})
+    public int width;
+
+    /**
+     * Variables.
+     */
+    private Map<CharSequence, Object> pairs;
+
+    /**
+     * Compiled template.
+     */
+    private Template template;
+
+    /**
+     * Prepares template with nested sections.
+     */
+    @Setup
+    @SuppressWarnings("PMD.InsufficientStringBufferDeclaration")
+    public void setup() {
+        final StringBuilder nested = new StringBuilder(0);
+        for (int level = 0; level < this.depth; level += 1) {
+            nested.append("<div>{{v}}{{#s").append(level).append("}}");
+        }
+        for (int level = this.depth - 1; level >= 0; level -= 1) {
+            nested.append("{{/s").append(level).append("}}{{^i")
+                .append(level).append("}}-{{/i").append(level)
+                .append("}}</div>");
+        }
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < this.width; idx += 1) {
+            text.append(nested).append('\n');
+        }
+        this.pairs = new HashMap<>(0);
+        this.pairs.put("v", "value");
+        for (int level = 0; level < this.depth; level += 1) {
+            this.pairs.put(String.format("s%d", level), true);
+            this.pairs.put(String.format("i%d", level), false);
+        }
+        this.template = new Mustache(text.toString());
+    }
+
+    /**
+     * Renders nested sections.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String supply() throws IOException {
+        return this.template.supply(this.pairs);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Template;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Partials given as String, Path and InputStream. String and Path
+ * contents are cached, a new stream is read and compiled on every render.
+ *
+ * @since 1.4
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class PartialBench {
+    /**
+     * Template content.
+     */
+    private static final String CONTENT =
+        "<header>{{title}}</header>{{>body}}<footer>{{title}}</footer>";
+
+    /**
+     * Partial content.
+     */
+    private static final String PARTIAL = String.join(
+        "",
+        "<main>{{#items}}<p>{{name}}: {{value}}</p>{{/items}}",
+        "{{^items}}empty{{/items}}</main>"
+    );
+
+    /**
+     * Compiled template.
+     */
+    private Template template;
+
+    /**
+     * Variables with partial as string.
+     */
+    private Map<CharSequence, Object> text;
+
+    /**
+     * Variables with partial as file.
+     */
+    private Map<CharSequence, Object> file;
+
+    /**
+     * Partial file.
+     */
+    private Path path;
+
+    /**
+     * Prepares partials.
+     * @throws IOException When fails.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.path = Files.createTempFile("partial", ".mustache");
+        Files.write(
+            this.path, PartialBench.PARTIAL.getBytes(StandardCharsets.UTF_8)
+        );
+        this.template = new Mustache(PartialBench.CONTENT);
+        this.text = PartialBench.pairs(PartialBench.PARTIAL);
+        this.file = PartialBench.pairs(this.path);
+    }
+
+    /**
+     * Removes partial file.
+     * @throws IOException When fails.
+     */
+    @TearDown
+    public void teardown() throws IOException {
+        Files.delete(this.path);
+    }
+
+    /**
+     * Renders partial given as string.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String string() throws IOException {
+        return this.template.supply(this.text);
+    }
+
+    /**
+     * Renders partial given as file.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String path() throws IOException {
+        return this.template.supply(this.file);
+    }
+
+    /**
+     * Renders partial given as new stream.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String stream() throws IOException {
+        return this.template.supply(
+            PartialBench.pairs(
+                new ByteArrayInputStream(
+                    PartialBench.PARTIAL.getBytes(StandardCharsets.UTF_8)
+                )
+            )
+        );
+    }
+
+    /**
+     * Variables with partial.
+     * @param partial Partial.
+     * @return Variables.
+     */
+    private static Map<CharSequence, Object> pairs(final Object partial) {
+        final Map<CharSequence, Object> item = new HashMap<>(2);
+        item.put("name", "key");
+        item.put("value", 42);
+        final Map<CharSequence, Object> pairs = new HashMap<>(3);
+        pairs.put("title", "Partials");
+        pairs.put("body", partial);
+        pairs.put("items", Arrays.asList(item, item, item));
+        return pairs;
+    }
+}
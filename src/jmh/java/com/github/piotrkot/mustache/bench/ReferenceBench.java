@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Work of looking up and appending values by hand, without templates.
+ * Regression gate compares time of other benchmarks as multiples of this
+ * one measured in the same session, so its baseline holds on machines
+ * of other speed.
+ *
+ * @since 1.4
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceBench {
+    /**
+     * Number of values.
+     */
+    private static final int SIZE = 64;
+
+    /**
+     * Names of values.
+     */
+    private String[] names;
+
+    /**
+     * Values by names.
+     */
+    private Map<String, Object> pairs;
+
+    /**
+     * Prepares values.
+     */
+    @Setup
+    public void setup() {
+        this.names = new String[ReferenceBench.SIZE];
+        this.pairs = new HashMap<>(ReferenceBench.SIZE * 2);
+        for (int idx = 0; idx < ReferenceBench.SIZE; idx += 1) {
+            this.names[idx] = String.format("name%d", idx);
+            this.pairs.put(this.names[idx], idx);
+        }
+    }
+
+    /**
+     * Appends values looked up by names.
+     * @return Joined values.
+     */
+    @Benchmark
+    @SuppressWarnings("PMD.InsufficientStringBufferDeclaration")
+    public String join() {
+        final StringBuilder text = new StringBuilder(0);
+        for (final String name : this.names) {
+            text.append("<td>").append(this.pairs.get(name)).append("</td>");
+        }
+        return text.toString();
+    }
+}
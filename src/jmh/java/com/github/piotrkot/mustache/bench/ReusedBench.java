@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.Context;
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Reused;
+import com.github.piotrkot.mustache.Slotted;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Render into new strings against render into reused buffers. Run with
+ * {@code -prof gc}, reused render of a map or context should allocate
+ * no bytes per operation in steady state.
+ *
+ * @since 1.4
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class ReusedBench {
+    /**
+     * Template content.
+     */
+    private static final String CONTENT = String.join(
+        "\n",
+        "<html><head><title>{{title}}</title></head><body>",
+        "<h1>{{title}}</h1>{{#logged}}<p>Hello {{user}}!</p>{{/logged}}",
+        "{{^logged}}<a href=\"/login\">Log in</a>{{/logged}}",
+        "<footer>{{footer}}</footer></body></html>"
+    );
+
+    /**
+     * Variables.
+     */
+    private Map<CharSequence, Object> pairs;
+
+    /**
+     * Context with the variables.
+     */
+    private Context context;
+
+    /**
+     * Template.
+     */
+    private Slotted template;
+
+    /**
+     * Template rendered into reused buffers.
+     */
+    private Reused reused;
+
+    /**
+     * Prepares variables.
+     * @throws IOException When fails.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.pairs = new HashMap<>(4);
+        this.pairs.put("title", "Dashboard");
+        this.pairs.put("logged", true);
+        this.pairs.put("user", "John");
+        this.pairs.put("footer", "Copyright");
+        this.template = new Mustache(ReusedBench.CONTENT);
+        this.reused = new Reused(this.template);
+        this.context = this.template.context();
+        for (final Map.Entry<CharSequence, Object> entry
+            : this.pairs.entrySet()) {
+            this.context.set(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Renders into new string.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String string() throws IOException {
+        return this.template.supply(this.pairs);
+    }
+
+    /**
+     * Renders map into reused buffer.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public CharSequence map() throws IOException {
+        return this.reused.supply(this.pairs);
+    }
+
+    /**
+     * Renders context into reused buffer.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public CharSequence context() throws IOException {
+        return this.reused.supply(this.context);
+    }
+}
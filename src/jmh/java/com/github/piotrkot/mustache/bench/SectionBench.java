@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.Context;
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Slotted;
+import com.github.piotrkot.mustache.Template;
+import com.github.piotrkot.mustache.nodes.Interpreted;
+import com.github.piotrkot.mustache.nodes.Parallel;
+import com.github.piotrkot.mustache.nodes.Partials;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Section rendering over growing number of items, sequential and parallel.
+ * Parallel render should scale with number of processors for large lists.
+ * Names of enclosing pairs referenced by items are looked up by slots when
+ * the pairs are a context, not by hashing through every item.
+ *
+ * @since 1.4
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class SectionBench {
+    /**
+     * Template content.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "<table>{{#rows}}<tr><td>{{id}}</td><td>{{name}}</td>",
+        "<td>{{#active}}yes{{/active}}{{^active}}no{{/active}}</td></tr>",
+        "{{/rows}}</table>"
+    );
+
+    /**
+     * Template content referencing enclosing names in items.
+     */
+    private static final String OUTER = String.join(
+        "",
+        "<table>{{#rows}}<tr><td>{{id}}</td><td>{{unit}}</td>",
+        "<td>{{currency}}</td></tr>{{/rows}}</table>"
+    );
+
+    /**
+     * Number of section items.
+     */
+    @Param({"1000", "100000"})
+    public int size;
+
+    /**
+     * Variables.
+     */
+    private Map<CharSequence, Object> pairs;
+
+    /**
+     * Context of template with enclosing names.
+     */
+    private Context context;
+
+    /**
+     * Template with enclosing names.
+     */
+    private Slotted outer;
+
+    /**
+     * Sequentially rendered template.
+     */
+    private Template sequential;
+
+    /**
+     * Template rendered in parallel.
+     */
+    private Template parallel;
+
+    /**
+     * Prepares rows.
+     * @throws IOException When fails.
+     */
+    @Setup
+    public void setup() throws IOException {
+        final List<Object> rows = new ArrayList<>(this.size);
+        for (int idx = 0; idx < this.size; idx += 1) {
+            final Map<CharSequence, Object> row = new HashMap<>(3);
+            row.put("id", idx);
+            row.put("name", String.format("name %d", idx));
+            row.put("active", idx % 2 == 0);
+            rows.add(row);
+        }
+        this.pairs = new HashMap<>(3);
+        this.pairs.put("rows", rows);
+        this.pairs.put("unit", "kg");
+        this.pairs.put("currency", "EUR");
+        this.outer = new Mustache(SectionBench.OUTER);
+        this.context = this.outer.context();
+        for (final Map.Entry<CharSequence, Object> entry
+            : this.pairs.entrySet()) {
+            this.context.set(entry.getKey(), entry.getValue());
+        }
+        this.sequential = new Mustache(SectionBench.CONTENT);
+        this.parallel = new Mustache(
+            SectionBench.CONTENT,
+            new Interpreted(new Partials(), new Parallel(1000))
+        );
+    }
+
+    /**
+     * Renders section items one after another.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String sequential() throws IOException {
+        return this.sequential.supply(this.pairs);
+    }
+
+    /**
+     * Renders chunks of section items in parallel.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String parallel() throws IOException {
+        return this.parallel.supply(this.pairs);
+    }
+
+    /**
+     * Renders items referencing enclosing names of map.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String enclosed() throws IOException {
+        return this.outer.supply(this.pairs);
+    }
+
+    /**
+     * Renders items referencing enclosing names of context.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String slotted() throws IOException {
+        return this.outer.supply(this.context);
+    }
+}
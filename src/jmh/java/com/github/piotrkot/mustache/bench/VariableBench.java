@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bench;
+
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Template;
+import com.github.piotrkot.mustache.tags.Variable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Variable rendering for growing template size. Time per operation
+ * should grow linearly with number of variables.
+ *
+ * @since 1.4
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class VariableBench {
+    /**
+     * Number of variables in template.
+     */
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    /**
+     * Template content.
+     */
+    private String content;
+
+    /**
+     * Variables.
+     */
+    private Map<CharSequence, Object> pairs;
+
+    /**
+     * Compiled template.
+     */
+    private Template template;
+
+    /**
+     * Variable tag.
+     */
+    private Variable variable;
+
+    /**
+     * Prepares template with variables and a section every ten of them.
+     */
+    @Setup
+    @SuppressWarnings("PMD.InsufficientStringBufferDeclaration")
+    public void setup() {
+        final StringBuilder text = new StringBuilder(0);
+        this.pairs = new HashMap<>();
+        for (int idx = 0; idx < this.size; idx += 1) {
+            text.append("<td>{{v").append(idx).append("}}</td>\n");
+            if (idx % 10 == 0) {
+                text.append("{{#s}}<b>{{v0}}</b>{{/s}}\n");
+            }
+            this.pairs.put(String.format("v%d", idx), idx);
+        }
+        this.pairs.put("s", true);
+        this.content = text.toString();
+        this.template = new Mustache(this.content);
+        this.variable = new Variable(this.template);
+    }
+
+    /**
+     * Renders variables with the tag.
+     * @return Rendered content.
+     */
+    @Benchmark
+    public String tag() {
+        return this.variable.render(this.content, this.pairs);
+    }
+
+    /**
+     * Renders compiled template.
+     * @return Rendered content.
+     * @throws IOException When fails.
+     */
+    @Benchmark
+    public String supply() throws IOException {
+        return this.template.supply(this.pairs);
+    }
+}
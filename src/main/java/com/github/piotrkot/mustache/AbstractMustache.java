@@ -23,26 +23,35 @@
  */
 package com.github.piotrkot.mustache;
 
-import com.github.piotrkot.mustache.tags.InvSection;
-import com.github.piotrkot.mustache.tags.Partial;
-import com.github.piotrkot.mustache.tags.Section;
-import com.github.piotrkot.mustache.tags.Variable;
+import com.github.piotrkot.mustache.flight.Flight;
+import com.github.piotrkot.mustache.flight.Span;
+import com.github.piotrkot.mustache.metrics.Listened;
+import com.github.piotrkot.mustache.metrics.Silent;
+import com.github.piotrkot.mustache.nodes.Interpreted;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.IoChecked;
+import org.cactoos.scalar.Solid;
 
 /**
- * Mustache template.
+ * Mustache template. Content is compiled into tree of nodes once, on first
+ * supply, and every supply only walks the tree.
  *
  * @since 1.0
  */
-public abstract class AbstractMustache implements Template {
+public abstract class AbstractMustache implements Slotted {
     /**
-     * Template content.
+     * Compiled template.
      */
-    private final transient String str;
+    private final transient Scalar<Compiled> tree;
 
     /**
      * Constructor.
@@ -70,17 +79,80 @@ public abstract class AbstractMustache implements Template {
      * @param content Template content.
      */
     public AbstractMustache(final String content) {
-        this.str = content;
+        this(content, new Interpreted());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param content Template content.
+     * @param target Compilation target, like
+     *  {@link com.github.piotrkot.mustache.bytecode.Generated}.
+     */
+    public AbstractMustache(final String content, final Target<Node> target) {
+        this(content, target, new Silent());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param content Template content.
+     * @param target Compilation target.
+     * @param listener Listener of compilation and renders, like
+     *  {@link com.github.piotrkot.mustache.metrics.Metrics#listener(String)}.
+     */
+    public AbstractMustache(final String content, final Target<Node> target,
+        final RenderListener listener) {
+        this.tree = new Solid<>(
+            () -> {
+                final String name = String.format(
+                    "%s@%08x", this.getClass().getSimpleName(),
+                    content.hashCode()
+                );
+                final Span span = new Flight().compilation(name);
+                final long start = System.nanoTime();
+                final Tree compiled = new Tree(this, content);
+                final Node root = compiled.compile(
+                    new Listened(target, listener)
+                );
+                listener.compiled(System.nanoTime() - start);
+                span.end(content.length());
+                return new Compiled(
+                    this, root, compiled.keys(), listener, name
+                );
+            }
+        );
+    }
+
+    @Override
+    public final String supply(final Map<CharSequence, Object> pairs)
+        throws IOException {
+        return new IoChecked<>(this.tree).value().supply(pairs);
+    }
+
+    @Override
+    public final void supply(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        new IoChecked<>(this.tree).value().supply(pairs, output);
+    }
+
+    @Override
+    public final CompletableFuture<String> supplyAsync(
+        final Map<CharSequence, Object> pairs) throws IOException {
+        return new IoChecked<>(this.tree).value().supplyAsync(pairs);
+    }
+
+    @Override
+    public final Context context() throws IOException {
+        return new IoChecked<>(this.tree).value().context();
     }
 
     @Override
-    public final String supply(final Map<CharSequence, Object> pairs) throws IOException {
-        return new Tags(
-            new Partial(this),
-            new Section(this),
-            new InvSection(this),
-            new Variable(this)
-        ).render(this.str, pairs);
+    public final void supply(final Map<CharSequence, Object> pairs,
+        final OutputStream stream, final Charset charset) throws IOException {
+        final Writer writer = new Encoded(stream, charset);
+        this.supply(pairs, writer);
+        writer.flush();
     }
 
     @Override
@@ -0,0 +1,310 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One template rendered against many pairs, like for mail merge. Output
+ * buffers are reused between renders. Renders may fan out over an
+ * executor, bounded by a window of renders in flight, and be delivered
+ * in order or as they complete. Renders delivered in order are kept in
+ * buffers reused once delivered, so no string is made of output. First
+ * failed render stops the batch and its failure is thrown.
+ *
+ * @since 1.4
+ */
+public final class Batch {
+    /**
+     * Default number of renders in flight.
+     */
+    private static final int WINDOW = 1024;
+
+    /**
+     * Template rendered into reused buffers.
+     */
+    private final Reused template;
+
+    /**
+     * Executor of renders, none if rendered by calling thread.
+     */
+    private final Optional<Executor> executor;
+
+    /**
+     * Whether outputs are delivered in order of pairs.
+     */
+    private final boolean inorder;
+
+    /**
+     * Max number of renders in flight.
+     */
+    private final int window;
+
+    /**
+     * Constructor of batch rendered by calling thread.
+     * @param tmpl Template.
+     */
+    public Batch(final Template tmpl) {
+        this(tmpl, Optional.empty(), true, 1);
+    }
+
+    /**
+     * Constructor.
+     * @param tmpl Template.
+     * @param exec Executor of renders.
+     * @param order Whether outputs are delivered in order of pairs.
+     */
+    public Batch(final Template tmpl, final Executor exec, final boolean order) {
+        this(tmpl, exec, order, Batch.WINDOW);
+    }
+
+    /**
+     * Constructor.
+     * @param tmpl Template.
+     * @param exec Executor of renders.
+     * @param order Whether outputs are delivered in order of pairs.
+     * @param flight Max number of renders in flight.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Batch(final Template tmpl, final Executor exec,
+        final boolean order, final int flight) {
+        this(tmpl, Optional.of(exec), order, flight);
+    }
+
+    /**
+     * Constructor.
+     * @param tmpl Template.
+     * @param exec Executor of renders.
+     * @param order Whether outputs are delivered in order of pairs.
+     * @param flight Max number of renders in flight.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private Batch(final Template tmpl, final Optional<Executor> exec,
+        final boolean order, final int flight) {
+        this.template = new Reused(tmpl);
+        this.executor = exec;
+        this.inorder = order;
+        this.window = flight;
+    }
+
+    /**
+     * Supplies template with every pairs and passes outputs to sink. Sink
+     * is called by rendering threads if outputs are not ordered.
+     * @param batch Pairs.
+     * @param sink Sink of outputs.
+     * @throws IOException When fails.
+     */
+    public void supply(final Iterable<? extends Map<CharSequence, Object>> batch,
+        final Sink sink) throws IOException {
+        if (this.executor.isPresent() && this.inorder) {
+            this.ordered(batch, sink, this.executor.get());
+        } else if (this.executor.isPresent()) {
+            this.unordered(batch, sink, this.executor.get());
+        } else {
+            this.sequential(batch, sink);
+        }
+    }
+
+    /**
+     * Renders one after another by calling thread.
+     * @param batch Pairs.
+     * @param sink Sink of outputs.
+     * @throws IOException When fails.
+     */
+    private void sequential(
+        final Iterable<? extends Map<CharSequence, Object>> batch,
+        final Sink sink) throws IOException {
+        int index = 0;
+        for (final Map<CharSequence, Object> pairs : batch) {
+            sink.accept(index, this.template.supply(pairs));
+            index += 1;
+        }
+    }
+
+    /**
+     * Renders on executor and delivers in order of pairs by calling thread.
+     * @param batch Pairs.
+     * @param sink Sink of outputs.
+     * @param exec Executor.
+     * @throws IOException When fails.
+     */
+    private void ordered(
+        final Iterable<? extends Map<CharSequence, Object>> batch,
+        final Sink sink, final Executor exec) throws IOException {
+        final Deque<CompletableFuture<StringBuilder>> flight =
+            new ArrayDeque<>(0);
+        final Deque<StringBuilder> spare = new ArrayDeque<>(0);
+        int index = 0;
+        for (final Map<CharSequence, Object> pairs : batch) {
+            final StringBuilder buffer = Batch.buffer(spare);
+            flight.add(
+                CompletableFuture.supplyAsync(
+                    () -> this.unchecked(pairs, buffer), exec
+                )
+            );
+            if (flight.size() >= this.window) {
+                Batch.deliver(index, Batch.joined(flight.poll()), sink, spare);
+                index += 1;
+            }
+        }
+        while (!flight.isEmpty()) {
+            Batch.deliver(index, Batch.joined(flight.poll()), sink, spare);
+            index += 1;
+        }
+    }
+
+    /**
+     * Renders on executor and delivers by rendering threads as they
+     * complete.
+     * @param batch Pairs.
+     * @param sink Sink of outputs.
+     * @param exec Executor.
+     * @throws IOException When fails.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void unordered(
+        final Iterable<? extends Map<CharSequence, Object>> batch,
+        final Sink sink, final Executor exec) throws IOException {
+        final Semaphore permits = new Semaphore(this.window);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        int index = 0;
+        for (final Map<CharSequence, Object> pairs : batch) {
+            permits.acquireUninterruptibly();
+            if (failure.get() != null) {
+                permits.release();
+                break;
+            }
+            final int idx = index;
+            exec.execute(
+                () -> {
+                    try {
+                        if (failure.get() == null) {
+                            sink.accept(idx, this.template.supply(pairs));
+                        }
+                    // @checkstyle IllegalCatchCheck (1 line)
+                    } catch (final IOException | RuntimeException | Error ex) {
+                        failure.compareAndSet(null, ex);
+                    } finally {
+                        permits.release();
+                    }
+                }
+            );
+            index += 1;
+        }
+        permits.acquireUninterruptibly(this.window);
+        Batch.rethrow(failure.get());
+    }
+
+    /**
+     * Renders into buffer, failing unchecked.
+     * @param pairs Pairs.
+     * @param buffer Buffer.
+     * @return Buffer with output.
+     */
+    private StringBuilder unchecked(final Map<CharSequence, Object> pairs,
+        final StringBuilder buffer) {
+        try {
+            this.template.supply(pairs, buffer);
+            return buffer;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Buffer of a render, spare one of delivered render if any.
+     * @param spare Buffers of delivered renders.
+     * @return Buffer.
+     */
+    private static StringBuilder buffer(final Deque<StringBuilder> spare) {
+        StringBuilder buffer = spare.poll();
+        if (buffer == null) {
+            buffer = new StringBuilder(0);
+        }
+        return buffer;
+    }
+
+    /**
+     * Passes output to sink and keeps its buffer for next renders.
+     * @param index Index of pairs in the batch.
+     * @param output Output.
+     * @param sink Sink of outputs.
+     * @param spare Buffers of delivered renders.
+     * @throws IOException When fails.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static void deliver(final int index, final StringBuilder output,
+        final Sink sink, final Deque<StringBuilder> spare) throws IOException {
+        sink.accept(index, output);
+        spare.push(output);
+    }
+
+    /**
+     * Output of completed render.
+     * @param render Render.
+     * @return Output.
+     * @throws IOException When render failed.
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private static StringBuilder joined(
+        final CompletableFuture<StringBuilder> render)
+        throws IOException {
+        try {
+            return render.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            Batch.rethrow(ex.getCause());
+            throw ex;
+        }
+    }
+
+    /**
+     * Throws failure of a render if any, as it was thrown by the render.
+     * @param failure Failure or null.
+     * @throws IOException When render failed.
+     */
+    private static void rethrow(final Throwable failure) throws IOException {
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import com.github.piotrkot.mustache.flight.Flight;
+import com.github.piotrkot.mustache.flight.Span;
+import com.github.piotrkot.mustache.metrics.Silent;
+import com.github.piotrkot.mustache.nodes.Async;
+import com.github.piotrkot.mustache.nodes.Memo;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Template already compiled into a node.
+ *
+ * @since 1.4
+ */
+public final class Compiled implements Slotted {
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Root node.
+     */
+    private final Node root;
+
+    /**
+     * Table of tag names.
+     */
+    private final Keys table;
+
+    /**
+     * Running estimate of output size.
+     */
+    private final Estimate size;
+
+    /**
+     * Listener of renders.
+     */
+    private final RenderListener listener;
+
+    /**
+     * Whether renders are measured.
+     */
+    private final boolean metered;
+
+    /**
+     * Template identity in recorded events.
+     */
+    private final String name;
+
+    /**
+     * Recorder of renders.
+     */
+    private final Flight flight;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param node Root node.
+     */
+    public Compiled(final TagIndicate indicate, final Node node) {
+        this(indicate, node, new Keys(Collections.emptyList()));
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param node Root node.
+     * @param keys Table of tag names.
+     */
+    public Compiled(final TagIndicate indicate, final Node node,
+        final Keys keys) {
+        this(indicate, node, keys, new Silent());
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param node Root node.
+     * @param keys Table of tag names.
+     * @param listen Listener of renders.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Compiled(final TagIndicate indicate, final Node node,
+        final Keys keys, final RenderListener listen) {
+        this(
+            indicate, node, keys, listen,
+            String.format("compiled@%08x", System.identityHashCode(node))
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param node Root node.
+     * @param keys Table of tag names.
+     * @param listen Listener of renders.
+     * @param identity Template identity in recorded events.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Compiled(final TagIndicate indicate, final Node node,
+        final Keys keys, final RenderListener listen, final String identity) {
+        this.indic = indicate;
+        this.root = node;
+        this.table = keys;
+        this.size = new Estimate();
+        this.listener = listen;
+        this.metered = !(listen instanceof Silent);
+        this.name = identity;
+        this.flight = new Flight();
+    }
+
+    @Override
+    public String supply(final Map<CharSequence, Object> pairs)
+        throws IOException {
+        final StringBuilder result = new StringBuilder(this.size.capacity());
+        this.supply(pairs, result);
+        this.size.update(result.length());
+        return result.toString();
+    }
+
+    @Override
+    public void supply(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        final Map<CharSequence, Object> memo;
+        if (pairs instanceof Memo) {
+            memo = pairs;
+        } else {
+            memo = new Memo(pairs);
+        }
+        final Span span = this.flight.render(this.name);
+        if (this.metered || span.recorded()) {
+            final long start = System.nanoTime();
+            final Counted counted = new Counted(output);
+            this.root.render(memo, counted);
+            this.listener.rendered(System.nanoTime() - start, counted.chars());
+            span.end(counted.chars());
+        } else {
+            this.root.render(memo, output);
+        }
+    }
+
+    @Override
+    public void supply(final Map<CharSequence, Object> pairs,
+        final OutputStream stream, final Charset charset) throws IOException {
+        final Writer writer = new Encoded(stream, charset);
+        this.supply(pairs, writer);
+        writer.flush();
+    }
+
+    @Override
+    public CompletableFuture<String> supplyAsync(
+        final Map<CharSequence, Object> pairs) {
+        return new Async(this.root).supply(pairs);
+    }
+
+    @Override
+    public Context context() {
+        return this.table.context();
+    }
+
+    @Override
+    public String start() {
+        return this.indic.start();
+    }
+
+    @Override
+    public String end() {
+        return this.indic.end();
+    }
+
+    @Override
+    public String safeStart() {
+        return this.indic.safeStart();
+    }
+
+    @Override
+    public String safeEnd() {
+        return this.indic.safeEnd();
+    }
+}
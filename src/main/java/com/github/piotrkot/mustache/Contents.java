@@ -23,8 +23,12 @@
  */
 package com.github.piotrkot.mustache;
 
+import com.github.piotrkot.mustache.flight.Flight;
+import com.github.piotrkot.mustache.flight.Span;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import org.cactoos.text.IoCheckedText;
 import org.cactoos.text.TextOf;
@@ -49,12 +53,12 @@ public final class Contents {
     }
 
     /**
-     * Constructor.
+     * Constructor. File is read in one call and decoded as UTF-8.
      * @param path File path.
      * @throws IOException When fails.
      */
     public Contents(final Path path) throws IOException {
-        this(new IoCheckedText(new TextOf(path)).asString());
+        this(Contents.read(path));
     }
 
     /**
@@ -72,4 +76,19 @@ public final class Contents {
     public String asString() {
         return this.cont;
     }
+
+    /**
+     * Reads UTF-8 file.
+     * @param path File path.
+     * @return File contents.
+     * @throws IOException When fails.
+     */
+    private static String read(final Path path) throws IOException {
+        final Span span = new Flight().read(path.toString());
+        final String text = new String(
+            Files.readAllBytes(path), StandardCharsets.UTF_8
+        );
+        span.end(text.length());
+        return text;
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pairs stored by slots of tag names. Templates look values up by slots
+ * resolved at compilation, with no hashing of names on render. As a map it
+ * is an adapter for lookups by name. Not thread safe.
+ *
+ * @since 1.4
+ */
+public final class Context extends AbstractMap<CharSequence, Object> {
+    /**
+     * Value of slot not set.
+     */
+    private static final Object ABSENT = new Object();
+
+    /**
+     * Table of tag names.
+     */
+    private final Keys table;
+
+    /**
+     * Values by slot.
+     */
+    private final Object[] values;
+
+    /**
+     * Constructor.
+     * @param keys Table of tag names.
+     */
+    public Context(final Keys keys) {
+        super();
+        this.table = keys;
+        this.values = Context.unset(keys.names().size());
+    }
+
+    /**
+     * Sets value of slot.
+     * @param slot Slot.
+     * @param value Value.
+     * @return This context.
+     */
+    public Context set(final int slot, final Object value) {
+        this.values[slot] = value;
+        return this;
+    }
+
+    /**
+     * Sets value of tag name.
+     * @param name Tag name.
+     * @param value Value.
+     * @return This context.
+     */
+    public Context set(final CharSequence name, final Object value) {
+        final int slot = this.table.slot(name);
+        if (slot < 0) {
+            throw new IllegalArgumentException(
+                String.format("No tag named '%s' in template", name)
+            );
+        }
+        return this.set(slot, value);
+    }
+
+    /**
+     * Table of tag names.
+     * @return Keys.
+     */
+    public Keys keys() {
+        return this.table;
+    }
+
+    /**
+     * Whether slot is set.
+     * @param slot Slot.
+     * @return True if set.
+     */
+    public boolean has(final int slot) {
+        return !Context.ABSENT.equals(this.values[slot]);
+    }
+
+    /**
+     * Value of slot.
+     * @param slot Slot.
+     * @return Value or null if not set.
+     */
+    public Object value(final int slot) {
+        Object value = null;
+        if (this.has(slot)) {
+            value = this.values[slot];
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final int slot = this.table.slot(String.valueOf(key));
+        return slot >= 0 && this.has(slot);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int slot = this.table.slot(String.valueOf(key));
+        Object value = null;
+        if (slot >= 0) {
+            value = this.value(slot);
+        }
+        return value;
+    }
+
+    @Override
+    public Set<Map.Entry<CharSequence, Object>> entrySet() {
+        final Map<CharSequence, Object> set = new LinkedHashMap<>(0);
+        for (int slot = 0; slot < this.values.length; slot += 1) {
+            if (this.has(slot)) {
+                set.put(this.table.names().get(slot), this.values[slot]);
+            }
+        }
+        return set.entrySet();
+    }
+
+    /**
+     * Values of slots not set.
+     * @param size Number of slots.
+     * @return Values.
+     */
+    private static Object[] unset(final int size) {
+        final Object[] values = new Object[size];
+        Arrays.fill(values, Context.ABSENT);
+        return values;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+
+/**
+ * Output counting characters written to origin. Static text of compiled
+ * templates reaches byte oriented origin still encoded.
+ *
+ * @since 1.4
+ */
+final class Counted implements ByteOutput {
+    /**
+     * Characters appended for null sequence.
+     */
+    private static final int NIL = String.valueOf((Object) null).length();
+
+    /**
+     * Origin.
+     */
+    private final Appendable origin;
+
+    /**
+     * Characters written.
+     */
+    private long written;
+
+    /**
+     * Constructor.
+     * @param output Origin.
+     */
+    Counted(final Appendable output) {
+        this.origin = output;
+    }
+
+    @Override
+    public void text(final String text, final byte[] encoded)
+        throws IOException {
+        this.written += text.length();
+        if (this.origin instanceof ByteOutput) {
+            ((ByteOutput) this.origin).text(text, encoded);
+        } else {
+            this.origin.append(text);
+        }
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq) throws IOException {
+        if (csq == null) {
+            this.written += Counted.NIL;
+        } else {
+            this.written += csq.length();
+        }
+        this.origin.append(csq);
+        return this;
+    }
+
+    @Override
+    public Appendable append(final CharSequence csq, final int start,
+        final int end) throws IOException {
+        this.written += end - start;
+        this.origin.append(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public Appendable append(final char chr) throws IOException {
+        this.written += 1;
+        this.origin.append(chr);
+        return this;
+    }
+
+    /**
+     * Characters written.
+     * @return Count.
+     */
+    long chars() {
+        return this.written;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.regex.Pattern;
+
+/**
+ * Pair of tag delimiters.
+ *
+ * @since 1.4
+ */
+public final class Delimiters implements TagIndicate {
+    /**
+     * String that starts the tag.
+     */
+    private final String first;
+
+    /**
+     * String that ends the tag.
+     */
+    private final String last;
+
+    /**
+     * Constructor.
+     * @param start String that starts the tag.
+     * @param end String that ends the tag.
+     */
+    public Delimiters(final String start, final String end) {
+        this.first = start;
+        this.last = end;
+    }
+
+    @Override
+    public String start() {
+        return this.first;
+    }
+
+    @Override
+    public String end() {
+        return this.last;
+    }
+
+    @Override
+    public String safeStart() {
+        return Pattern.quote(this.first);
+    }
+
+    @Override
+    public String safeEnd() {
+        return Pattern.quote(this.last);
+    }
+}
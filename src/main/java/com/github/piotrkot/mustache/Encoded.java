@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Output encoding chars into stream. Static text of compiled templates is
+ * kept encoded in UTF-8, so for UTF-8 stream it is copied as is and only
+ * values are encoded on render. Not thread safe.
+ *
+ * @since 1.4
+ */
+public final class Encoded extends Writer implements ByteOutput {
+    /**
+     * Stream.
+     */
+    private final OutputStream stream;
+
+    /**
+     * Whether stream is in UTF-8.
+     */
+    private final boolean utf;
+
+    /**
+     * Writer for streams in other charsets.
+     */
+    private final Writer chars;
+
+    /**
+     * Encoder for streams in UTF-8.
+     */
+    private final Utf8 bytes;
+
+    /**
+     * Constructor.
+     * @param stream Stream.
+     * @param charset Charset of stream.
+     */
+    public Encoded(final OutputStream stream, final Charset charset) {
+        super();
+        this.stream = stream;
+        this.utf = StandardCharsets.UTF_8.equals(charset);
+        this.chars = new OutputStreamWriter(stream, charset);
+        this.bytes = new Utf8(stream);
+    }
+
+    @Override
+    public void text(final String text, final byte[] encoded)
+        throws IOException {
+        if (this.utf) {
+            this.bytes.write(encoded);
+        } else {
+            this.chars.write(text);
+        }
+    }
+
+    @Override
+    public void write(final int chr) throws IOException {
+        if (this.utf) {
+            this.bytes.encode((char) chr);
+        } else {
+            this.chars.write(chr);
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len)
+        throws IOException {
+        if (this.utf) {
+            for (int idx = off; idx < off + len; idx += 1) {
+                this.bytes.encode(cbuf[idx]);
+            }
+        } else {
+            this.chars.write(cbuf, off, len);
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len)
+        throws IOException {
+        if (this.utf) {
+            for (int idx = off; idx < off + len; idx += 1) {
+                this.bytes.encode(str.charAt(idx));
+            }
+        } else {
+            this.chars.write(str, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.chars.flush();
+        this.bytes.drain();
+        this.stream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        this.stream.close();
+    }
+}
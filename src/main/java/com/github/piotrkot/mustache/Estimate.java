@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+/**
+ * Running estimate of output size of a template, so output buffers are
+ * allocated large enough at once instead of growing. Concurrent updates
+ * may be lost, which only makes the estimate lag.
+ *
+ * @since 1.4
+ */
+final class Estimate {
+    /**
+     * Size estimated before first render.
+     */
+    private static final int INITIAL = 256;
+
+    /**
+     * Running estimate.
+     */
+    private volatile int size;
+
+    /**
+     * Constructor.
+     */
+    Estimate() {
+        this.size = Estimate.INITIAL;
+    }
+
+    /**
+     * Capacity of buffer for next output, with headroom of one eighth.
+     * @return Capacity.
+     */
+    int capacity() {
+        final int est = this.size;
+        return est + (est >> 3);
+    }
+
+    /**
+     * Moves estimate a quarter of the way to size of last output.
+     * @param length Size of last output.
+     */
+    void update(final int length) {
+        final int est = this.size;
+        this.size = est + (length - est) / 4;
+    }
+}
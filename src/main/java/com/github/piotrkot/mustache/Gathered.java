@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * UTF-8 output collected as buffers and written to channel in one gathering
+ * write on flush. Larger static texts of compiled templates are referenced,
+ * never copied, values and short texts are encoded into per render buffers.
+ * Channel must be blocking, selectable channel in non-blocking mode fails
+ * flush. Not thread safe.
+ *
+ * @since 1.4
+ */
+public final class Gathered extends Writer implements ByteOutput {
+    /**
+     * Length of static text from which it is referenced instead of copied.
+     */
+    private static final int SHARED = 256;
+
+    /**
+     * Channel.
+     */
+    private final GatheringByteChannel channel;
+
+    /**
+     * Buffers to write.
+     */
+    private final List<ByteBuffer> buffers;
+
+    /**
+     * Encoder of values.
+     */
+    private final Utf8 bytes;
+
+    /**
+     * Constructor.
+     * @param channel Channel.
+     */
+    public Gathered(final GatheringByteChannel channel) {
+        super();
+        this.channel = channel;
+        this.buffers = new ArrayList<>(0);
+        this.bytes = new Utf8(new Gathered.Copies(this.buffers));
+    }
+
+    @Override
+    public void text(final String text, final byte[] encoded)
+        throws IOException {
+        if (encoded.length < Gathered.SHARED) {
+            this.bytes.write(encoded);
+        } else {
+            this.bytes.drain();
+            this.buffers.add(ByteBuffer.wrap(encoded).asReadOnlyBuffer());
+        }
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len)
+        throws IOException {
+        for (int idx = off; idx < off + len; idx += 1) {
+            this.bytes.encode(cbuf[idx]);
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len)
+        throws IOException {
+        for (int idx = off; idx < off + len; idx += 1) {
+            this.bytes.encode(str.charAt(idx));
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.bytes.drain();
+        if (this.channel instanceof SelectableChannel
+            && !((SelectableChannel) this.channel).isBlocking()) {
+            throw new IOException("Channel in non-blocking mode");
+        }
+        if (!this.buffers.isEmpty()) {
+            final ByteBuffer[] all = this.buffers.toArray(new ByteBuffer[0]);
+            final ByteBuffer last = all[all.length - 1];
+            while (last.hasRemaining()) {
+                this.channel.write(all);
+            }
+            this.buffers.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        this.channel.close();
+    }
+
+    /**
+     * Stream adding copies of written bytes to buffers.
+     * @since 1.4
+     */
+    private static final class Copies extends OutputStream {
+        /**
+         * Buffers.
+         */
+        private final List<ByteBuffer> buffers;
+
+        /**
+         * Constructor.
+         * @param buffers Buffers.
+         */
+        Copies(final List<ByteBuffer> buffers) {
+            super();
+            this.buffers = buffers;
+        }
+
+        @Override
+        public void write(final int value) {
+            this.write(new byte[] {(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) {
+            if (len > 0) {
+                this.buffers.add(
+                    ByteBuffer.wrap(Arrays.copyOfRange(bytes, off, off + len))
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table of tag names of a template. Every name has its slot in contexts
+ * created from the table.
+ *
+ * @since 1.4
+ */
+public final class Keys {
+    /**
+     * Names by slot.
+     */
+    private final List<String> list;
+
+    /**
+     * Slots by name.
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * Constructor.
+     * @param names Tag names, in order of slots.
+     */
+    public Keys(final List<String> names) {
+        this.list = Collections.unmodifiableList(new ArrayList<>(names));
+        this.slots = Keys.index(names);
+    }
+
+    /**
+     * Slot of tag name.
+     * @param name Tag name.
+     * @return Slot or negative if name is not in the table.
+     */
+    public int slot(final CharSequence name) {
+        return this.slots.getOrDefault(name.toString(), -1);
+    }
+
+    /**
+     * Tag names.
+     * @return Names by slot.
+     */
+    public List<String> names() {
+        return this.list;
+    }
+
+    /**
+     * Table with first segments of dotted names added after the names, so
+     * contexts have slots for objects the paths start at. Slots of names
+     * already in the table are kept.
+     * @return Keys.
+     */
+    public Keys rooted() {
+        final Set<String> names = new LinkedHashSet<>(this.list);
+        for (final String name : this.list) {
+            names.add(name.split("\\.", 2)[0]);
+        }
+        return new Keys(new ArrayList<>(names));
+    }
+
+    /**
+     * New empty context with a slot for every name.
+     * @return Context.
+     */
+    public Context context() {
+        return new Context(this);
+    }
+
+    /**
+     * Slots by name, first slot of repeated name.
+     * @param names Names by slot.
+     * @return Slots by name.
+     */
+    private static Map<String, Integer> index(final List<String> names) {
+        final Map<String, Integer> slots = new HashMap<>(names.size() * 2);
+        for (int idx = names.size() - 1; idx >= 0; idx -= 1) {
+            slots.put(names.get(idx), idx);
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.IoChecked;
+import org.cactoos.scalar.Solid;
+
+/**
+ * UTF-8 file read chunk by chunk, decoded straight into the buffer of the
+ * caller. Large files are memory mapped, so neither their bytes nor their
+ * whole text are ever on heap. Smaller files are read in one call, because
+ * mapping has a fixed cost. Not thread safe.
+ *
+ * @since 1.4
+ */
+public final class Mapped extends Reader {
+    /**
+     * Size of file from which it is memory mapped instead of read.
+     */
+    private static final long LARGE = 1L << 20;
+
+    /**
+     * Bytes of the file, mapped or read on first read.
+     */
+    private final Scalar<ByteBuffer> bytes;
+
+    /**
+     * Decoder.
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * Constructor.
+     * @param path File path.
+     */
+    public Mapped(final Path path) {
+        super();
+        this.bytes = new Solid<>(() -> Mapped.buffer(path));
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len)
+        throws IOException {
+        final ByteBuffer input = new IoChecked<>(this.bytes).value();
+        final CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        if (input.hasRemaining()) {
+            this.decoder.decode(input, out, true);
+        }
+        if (!input.hasRemaining()) {
+            this.decoder.flush(out);
+        }
+        int count = out.position() - off;
+        if (count == 0 && len > 0) {
+            count = -1;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        // Mapping is released when garbage collected, nothing to close.
+    }
+
+    /**
+     * Bytes of the file.
+     * @param path File path.
+     * @return Mapped or read bytes.
+     * @throws IOException When fails.
+     */
+    private static ByteBuffer buffer(final Path path) throws IOException {
+        final ByteBuffer buffer;
+        if (Files.size(path) < Mapped.LARGE) {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        } else {
+            try (FileChannel channel = FileChannel.open(path)) {
+                buffer = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                );
+            }
+        }
+        return buffer;
+    }
+}
@@ -41,6 +41,28 @@ public final class Mustache extends AbstractMustache {
         super(content);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param content Content.
+     * @param target Compilation target.
+     */
+    public Mustache(final String content, final Target<Node> target) {
+        super(content, target);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param content Content.
+     * @param target Compilation target.
+     * @param listener Listener of compilation and renders.
+     */
+    public Mustache(final String content, final Target<Node> target,
+        final RenderListener listener) {
+        super(content, target, listener);
+    }
+
     /**
      * Constructor.
      *
@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+/**
+ * Listener of template compilation and renders, like for metrics. One
+ * listener observes one template and may be called by many threads.
+ *
+ * @since 1.4
+ */
+public interface RenderListener {
+    /**
+     * Template compiled.
+     * @param nanos Time of parsing and compilation, in nanoseconds.
+     */
+    void compiled(long nanos);
+
+    /**
+     * Template rendered.
+     * @param nanos Time of render, in nanoseconds.
+     * @param chars Number of characters of output.
+     */
+    void rendered(long nanos, long chars);
+
+    /**
+     * Variable substituted by a value.
+     */
+    void substituted();
+
+    /**
+     * Section body rendered once more.
+     */
+    void iterated();
+
+    /**
+     * Partial rendered.
+     */
+    void loaded();
+
+    /**
+     * Tag name looked up but not found.
+     * @param name Tag name.
+     */
+    void missing(String name);
+}
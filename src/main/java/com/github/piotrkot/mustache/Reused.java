@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import com.github.piotrkot.mustache.nodes.Memo;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Template rendered into buffers reused by every thread, so in steady
+ * state rendering allocates no output. Buffers start with capacity of the
+ * running estimate of output size and are replaced when grown far above
+ * it, so one large output is not kept forever.
+ *
+ * @since 1.4
+ */
+public final class Reused {
+    /**
+     * Template.
+     */
+    private final Template template;
+
+    /**
+     * Running estimate of output size.
+     */
+    private final Estimate size;
+
+    /**
+     * Buffers of rendering threads.
+     */
+    private final ThreadLocal<Reused.Buffer> buffers;
+
+    /**
+     * Constructor.
+     * @param tmpl Template.
+     */
+    public Reused(final Template tmpl) {
+        this.template = tmpl;
+        this.size = new Estimate();
+        this.buffers = ThreadLocal.withInitial(Reused.Buffer::new);
+    }
+
+    /**
+     * Supplies template with pairs into buffer of current thread.
+     * @param pairs Pairs.
+     * @return Output, valid until next supply by current thread.
+     * @throws IOException When fails.
+     */
+    public CharSequence supply(final Map<CharSequence, Object> pairs)
+        throws IOException {
+        return this.supply(
+            pairs, this.buffers.get().fresh(this.size.capacity())
+        );
+    }
+
+    /**
+     * Supplies template with pairs into buffer owned by caller, which is
+     * cleared first.
+     * @param pairs Pairs.
+     * @param output Buffer.
+     * @return Output, the buffer.
+     * @throws IOException When fails.
+     */
+    public CharSequence supply(final Map<CharSequence, Object> pairs,
+        final StringBuilder output) throws IOException {
+        output.setLength(0);
+        final Reused.Buffer buffer = this.buffers.get();
+        try {
+            this.template.supply(buffer.memo(pairs), output);
+        } finally {
+            buffer.release();
+        }
+        this.size.update(output.length());
+        return output;
+    }
+
+    /**
+     * Buffer and memo of a thread.
+     * @since 1.4
+     */
+    @SuppressWarnings("PMD.AvoidStringBufferField")
+    private static final class Buffer {
+        /**
+         * Grown capacity, in estimates, which makes buffer replaced.
+         */
+        private static final int OVERSIZED = 4;
+
+        /**
+         * Output.
+         */
+        private StringBuilder text;
+
+        /**
+         * Memo of lazy values.
+         */
+        private final Memo lazy;
+
+        /**
+         * Constructor.
+         */
+        Buffer() {
+            this.text = new StringBuilder(0);
+            this.lazy = new Memo();
+        }
+
+        /**
+         * Empty output buffer.
+         * @param capacity Estimated capacity.
+         * @return Buffer.
+         */
+        StringBuilder fresh(final int capacity) {
+            if (this.text.capacity() > capacity * Reused.Buffer.OVERSIZED) {
+                this.text = new StringBuilder(capacity);
+            }
+            this.text.ensureCapacity(capacity);
+            return this.text;
+        }
+
+        /**
+         * Pairs wrapped for the render.
+         * @param pairs Pairs.
+         * @return Memo over the pairs.
+         */
+        Map<CharSequence, Object> memo(final Map<CharSequence, Object> pairs) {
+            return this.lazy.over(pairs);
+        }
+
+        /**
+         * Releases pairs of finished render.
+         */
+        void release() {
+            this.lazy.over(Collections.emptyMap());
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import com.github.piotrkot.mustache.nodes.Interpreted;
+import com.github.piotrkot.mustache.nodes.Memo;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Template rendered while it is read. Content is consumed chunk by chunk and
+ * only the body of currently open outermost section is kept in memory, so
+ * flat or shallowly nested templates may be larger than heap. Output is the
+ * same as of {@link Mustache} with the same content. Template can be
+ * supplied once.
+ *
+ * @since 1.4
+ */
+public final class Streamed {
+    /**
+     * Size of chunk read at once.
+     */
+    private static final int CHUNK = 8192;
+
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Template content.
+     */
+    private final Reader source;
+
+    /**
+     * Compilation target.
+     */
+    private final Target<Node> target;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param channel Template channel.
+     * @param charset Template charset.
+     */
+    public Streamed(final TagIndicate indicate,
+        final ReadableByteChannel channel, final Charset charset) {
+        this(
+            indicate,
+            Channels.newReader(channel, charset.newDecoder(), Streamed.CHUNK)
+        );
+    }
+
+    /**
+     * Constructor of template in UTF-8 file, memory mapped if large, so it
+     * is scanned without its whole text on heap.
+     * @param indicate Indicate.
+     * @param path Template file.
+     */
+    public Streamed(final TagIndicate indicate, final Path path) {
+        this(indicate, new Mapped(path));
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param reader Template reader.
+     */
+    public Streamed(final TagIndicate indicate, final Reader reader) {
+        this(indicate, reader, new Interpreted());
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param reader Template reader.
+     * @param target Compilation target of sections.
+     */
+    public Streamed(final TagIndicate indicate, final Reader reader,
+        final Target<Node> target) {
+        this.indic = indicate;
+        this.source = reader;
+        this.target = target;
+    }
+
+    /**
+     * Supply template with pairs and write result to output as template
+     * is read. Reader is not closed.
+     * @param pairs Pairs.
+     * @param output Output.
+     * @throws IOException When fails.
+     */
+    public void supply(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        new Scan(this, new Memo(pairs), output).run();
+    }
+
+    /**
+     * Single pass over the template. Window lives as long as the pass.
+     * Consumed chars are cut off the window once a chunk, before it is
+     * read.
+     * @since 1.4
+     */
+    @SuppressWarnings("PMD.AvoidStringBufferField")
+    private static final class Scan {
+        /**
+         * Template.
+         */
+        private final Streamed tmpl;
+
+        /**
+         * Pairs.
+         */
+        private final Map<CharSequence, Object> pairs;
+
+        /**
+         * Output.
+         */
+        private final Appendable output;
+
+        /**
+         * Chars read but not rendered yet, from the base index.
+         */
+        private final StringBuilder window;
+
+        /**
+         * Names of open sections, innermost first.
+         */
+        private final Deque<String> names;
+
+        /**
+         * Buffer for chunks read.
+         */
+        private final char[] chunk;
+
+        /**
+         * Index in window of first char not rendered yet.
+         */
+        private int base;
+
+        /**
+         * Index in window to look up next tag from.
+         */
+        private int pos;
+
+        /**
+         * Index in window to look up end delimiter of pending tag from.
+         */
+        private int seek;
+
+        /**
+         * Constructor.
+         * @param template Template.
+         * @param pairs Pairs.
+         * @param output Output.
+         */
+        Scan(final Streamed template, final Map<CharSequence, Object> pairs,
+            final Appendable output) {
+            this.tmpl = template;
+            this.pairs = pairs;
+            this.output = output;
+            this.window = new StringBuilder(Streamed.CHUNK);
+            this.names = new LinkedList<>();
+            this.chunk = new char[Streamed.CHUNK];
+        }
+
+        /**
+         * Renders whole template. Start delimiter with no end delimiter
+         * within a chunk after it is text.
+         * @throws IOException When fails.
+         */
+        public void run() throws IOException {
+            final String start = this.tmpl.indic.start();
+            final String end = this.tmpl.indic.end();
+            boolean more = true;
+            while (more) {
+                final int from = this.window.indexOf(start, this.pos);
+                int close = -1;
+                if (from >= 0) {
+                    close = this.window.indexOf(
+                        end, Math.max(from + start.length(), this.seek)
+                    );
+                }
+                if (close >= 0) {
+                    this.seek = 0;
+                    this.tag(from, close + end.length());
+                } else if (from >= 0
+                    && this.window.length() - from > Streamed.CHUNK) {
+                    this.seek = 0;
+                    this.pos = from + 1;
+                } else {
+                    if (from >= 0) {
+                        this.seek = Math.max(
+                            from + start.length(),
+                            this.window.length() - end.length() + 1
+                        );
+                    }
+                    this.pending(from, start.length());
+                    more = this.fill();
+                }
+            }
+            if (this.names.isEmpty()) {
+                this.emit(this.window.length());
+            } else {
+                this.section(this.window.length());
+            }
+        }
+
+        /**
+         * Handles text which may be a tag.
+         * @param from Index of start delimiter.
+         * @param after Offset after end delimiter.
+         * @throws IOException When fails.
+         */
+        private void tag(final int from, final int after) throws IOException {
+            final Optional<Token> found = this.token(from, after);
+            if (found.isPresent() && this.names.isEmpty()) {
+                this.outer(found.get(), from, after);
+            } else if (found.isPresent()) {
+                this.inner(found.get(), after);
+            } else {
+                this.pos = from + 1;
+            }
+        }
+
+        /**
+         * Handles tag outside of sections.
+         * @param token Tag.
+         * @param from Index of start delimiter.
+         * @param after Offset after end delimiter.
+         * @throws IOException When fails.
+         */
+        private void outer(final Token token, final int from,
+            final int after) throws IOException {
+            final Kind kind = token.kind();
+            this.pos = after;
+            if (kind == Kind.SECTION || kind == Kind.INV_SECTION) {
+                this.emit(from);
+                this.names.push(token.name());
+            } else if (kind != Kind.CLOSING) {
+                this.emit(from);
+                final Node node;
+                if (kind == Kind.VARIABLE) {
+                    node = this.tmpl.target.variable(token.name());
+                } else {
+                    node = this.tmpl.target.partial(
+                        this.tmpl.indic, token.name()
+                    );
+                }
+                node.render(this.pairs, this.output);
+                this.base = after;
+            }
+        }
+
+        /**
+         * Handles tag within section. Closing tag of outermost section
+         * renders whole section.
+         * @param token Tag.
+         * @param after Offset after end delimiter.
+         * @throws IOException When fails.
+         */
+        private void inner(final Token token, final int after)
+            throws IOException {
+            this.pos = after;
+            if (token.kind() == Kind.SECTION
+                || token.kind() == Kind.INV_SECTION) {
+                this.names.push(token.name());
+            } else if (token.kind() == Kind.CLOSING
+                && this.names.contains(token.name())) {
+                String name = this.names.pop();
+                while (!name.equals(token.name())) {
+                    name = this.names.pop();
+                }
+                if (this.names.isEmpty()) {
+                    this.section(after);
+                }
+            }
+        }
+
+        /**
+         * Tag starting at given index.
+         * @param from Index of start delimiter.
+         * @param after Offset after end delimiter.
+         * @return Tag if text is a tag.
+         */
+        private Optional<Token> token(final int from, final int after) {
+            final List<Token> tokens = new Tokens(
+                this.tmpl.indic, this.window.substring(from, after)
+            ).list();
+            Optional<Token> token = Optional.empty();
+            if (!tokens.isEmpty() && tokens.get(0).start() == 0) {
+                token = Optional.of(tokens.get(0));
+            }
+            return token;
+        }
+
+        /**
+         * Renders text with no complete tag in it. Outside of sections
+         * all text except possible start of a tag is rendered.
+         * @param from Index of start delimiter or negative if none.
+         * @param length Length of start delimiter.
+         * @throws IOException When fails.
+         */
+        private void pending(final int from, final int length)
+            throws IOException {
+            int upto = from;
+            if (from < 0) {
+                upto = Math.max(this.pos, this.window.length() - length + 1);
+            }
+            if (this.names.isEmpty()) {
+                this.emit(upto);
+            } else {
+                this.pos = upto;
+            }
+        }
+
+        /**
+         * Renders section from the base of window.
+         * @param after Offset after closing tag.
+         * @throws IOException When fails.
+         */
+        private void section(final int after) throws IOException {
+            new Tree(this.tmpl.indic, this.window.substring(this.base, after))
+                .compile(this.tmpl.target)
+                .render(this.pairs, this.output);
+            this.base = after;
+            this.pos = after;
+        }
+
+        /**
+         * Renders static text from the base of window.
+         * @param upto Offset after last char of text.
+         * @throws IOException When fails.
+         */
+        private void emit(final int upto) throws IOException {
+            if (this.base < upto) {
+                this.output.append(this.window, this.base, upto);
+                this.base = upto;
+            }
+            this.pos = Math.max(this.pos, upto);
+        }
+
+        /**
+         * Cuts rendered chars off the window and reads next chunk of
+         * template.
+         * @return False if template ended.
+         * @throws IOException When fails.
+         */
+        private boolean fill() throws IOException {
+            if (this.base > 0) {
+                this.window.delete(0, this.base);
+                this.pos -= this.base;
+                this.seek = Math.max(0, this.seek - this.base);
+                this.base = 0;
+            }
+            final int read = this.tmpl.source.read(this.chunk);
+            if (read > 0) {
+                this.window.append(this.chunk, 0, read);
+            }
+            return read >= 0;
+        }
+    }
+}
@@ -29,6 +29,22 @@ package com.github.piotrkot.mustache;
  * @since 1.0
  */
 public interface TagIndicate {
+    /**
+     * String that starts the tag. By default the regex safe one unquoted.
+     * @return Code string.
+     */
+    default String start() {
+        return new Unquoted(this.safeStart()).value();
+    }
+
+    /**
+     * String that ends the tag. By default the regex safe one unquoted.
+     * @return Code string.
+     */
+    default String end() {
+        return new Unquoted(this.safeEnd()).value();
+    }
+
     /**
      * Regex safe string that starts the tag.
      * @return Code string.
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.List;
+
+/**
+ * Target of template compilation. Builds compiled representation of every
+ * tag found in the template.
+ *
+ * @param <T> Type of compiled representation.
+ * @since 1.4
+ */
+public interface Target<T> {
+    /**
+     * Static text.
+     * @param text Text.
+     * @return Compiled text.
+     */
+    T text(String text);
+
+    /**
+     * Variable tag.
+     * @param name Tag name.
+     * @return Compiled variable.
+     */
+    T variable(String name);
+
+    /**
+     * Section tag.
+     * @param name Tag name.
+     * @param body Compiled section body.
+     * @return Compiled section.
+     */
+    T section(String name, T body);
+
+    /**
+     * Inverted section tag.
+     * @param name Tag name.
+     * @param body Compiled section body.
+     * @return Compiled inverted section.
+     */
+    T invSection(String name, T body);
+
+    /**
+     * Partial tag.
+     * @param indicate Indicate of the template.
+     * @param name Tag name.
+     * @return Compiled partial.
+     */
+    T partial(TagIndicate indicate, String name);
+
+    /**
+     * Sequence of compiled tags and texts.
+     * @param items Compiled items.
+     * @return Compiled sequence.
+     */
+    T sequence(List<T> items);
+}
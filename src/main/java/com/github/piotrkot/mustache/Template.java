@@ -24,7 +24,10 @@
 package com.github.piotrkot.mustache;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Template.
@@ -40,4 +43,47 @@ public interface Template extends TagIndicate {
      * @see <a href="https://mustache.github.io/">https://mustache.github.io/</a>
      */
     String supply(Map<CharSequence, Object> pairs) throws IOException;
+
+    /**
+     * Supply template with pairs and write result to output as template
+     * is walked, without building whole document first. By default the
+     * whole document is built and appended.
+     * @param pairs Pairs.
+     * @param output Output.
+     * @throws IOException When fails.
+     */
+    default void supply(Map<CharSequence, Object> pairs, Appendable output)
+        throws IOException {
+        output.append(this.supply(pairs));
+    }
+
+    /**
+     * Supply template with pairs and write encoded result to stream as
+     * template is walked. Stream is flushed but not closed. By default the
+     * whole document is built and written.
+     * @param pairs Pairs.
+     * @param stream Output stream.
+     * @param charset Output charset.
+     * @throws IOException When fails.
+     */
+    default void supply(Map<CharSequence, Object> pairs, OutputStream stream,
+        Charset charset) throws IOException {
+        stream.write(this.supply(pairs).getBytes(charset));
+        stream.flush();
+    }
+
+    /**
+     * Supply template with pairs having values given as
+     * {@link java.util.concurrent.CompletionStage}. Fragments of template
+     * are rendered as values they reference complete, no thread waits for
+     * them, and output is assembled in template order. By default the
+     * template is supplied synchronously.
+     * @param pairs Pairs.
+     * @return Future output.
+     * @throws IOException When fails.
+     */
+    default CompletableFuture<String> supplyAsync(
+        Map<CharSequence, Object> pairs) throws IOException {
+        return CompletableFuture.completedFuture(this.supply(pairs));
+    }
 }
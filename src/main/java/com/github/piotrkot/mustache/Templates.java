@@ -0,0 +1,307 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import com.github.piotrkot.mustache.flight.Flight;
+import com.github.piotrkot.mustache.flight.Span;
+import com.github.piotrkot.mustache.metrics.Silent;
+import com.github.piotrkot.mustache.nodes.Interpreted;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of templates compiled from files. Templates are cached by path
+ * and compiled again once file modification time or size changes. Cache is
+ * bounded by total size of template files, least recently used templates
+ * are evicted first. Concurrent first requests of a template compile it
+ * only once.
+ *
+ * @since 1.4
+ */
+public final class Templates {
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Compilation target.
+     */
+    private final Target<Node> target;
+
+    /**
+     * Max total size of cached template files in bytes.
+     */
+    private final long capacity;
+
+    /**
+     * Cached templates in access order.
+     */
+    private final Map<Path, Entry> cache;
+
+    /**
+     * Total size of cached template files in bytes.
+     */
+    private final AtomicLong weight;
+
+    /**
+     * Number of cache hits.
+     */
+    private final AtomicLong hit;
+
+    /**
+     * Number of cache misses.
+     */
+    private final AtomicLong miss;
+
+    /**
+     * Number of evictions.
+     */
+    private final AtomicLong evict;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param bytes Max total size of cached template files in bytes.
+     */
+    public Templates(final TagIndicate indicate, final long bytes) {
+        this(indicate, bytes, new Interpreted());
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param bytes Max total size of cached template files in bytes.
+     * @param target Compilation target.
+     */
+    public Templates(final TagIndicate indicate, final long bytes,
+        final Target<Node> target) {
+        this.indic = indicate;
+        this.capacity = bytes;
+        this.target = target;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+        this.weight = new AtomicLong();
+        this.hit = new AtomicLong();
+        this.miss = new AtomicLong();
+        this.evict = new AtomicLong();
+    }
+
+    /**
+     * Compiled template of the file.
+     * @param path Template file.
+     * @return Template.
+     * @throws IOException When fails.
+     */
+    public Template template(final Path path) throws IOException {
+        final Path key = path.toAbsolutePath().normalize();
+        final BasicFileAttributes attrs = Files.readAttributes(
+            key, BasicFileAttributes.class
+        );
+        final Entry fresh = new Entry(
+            attrs.lastModifiedTime().toMillis(), attrs.size()
+        );
+        Entry entry;
+        boolean owner = false;
+        synchronized (this.cache) {
+            entry = this.cache.get(key);
+            if (entry != null && entry.same(fresh)) {
+                this.hit.incrementAndGet();
+            } else {
+                this.miss.incrementAndGet();
+                this.put(key, fresh);
+                entry = fresh;
+                owner = true;
+            }
+        }
+        if (owner) {
+            this.compile(key, entry);
+        }
+        return entry.template();
+    }
+
+    /**
+     * Number of cache hits.
+     * @return Hits.
+     */
+    public long hits() {
+        return this.hit.get();
+    }
+
+    /**
+     * Number of cache misses.
+     * @return Misses.
+     */
+    public long misses() {
+        return this.miss.get();
+    }
+
+    /**
+     * Number of templates evicted.
+     * @return Evictions.
+     */
+    public long evictions() {
+        return this.evict.get();
+    }
+
+    /**
+     * Total size of cached template files.
+     * @return Size in bytes.
+     */
+    public long size() {
+        return this.weight.get();
+    }
+
+    /**
+     * Compiles template of the entry. On any failure the entry is removed
+     * and its waiters get the failure.
+     * @param path Template file.
+     * @param entry Cache entry.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void compile(final Path path, final Entry entry) {
+        try {
+            final String content = new Contents(path).asString();
+            final Span span = new Flight().compilation(path.toString());
+            final Tree tree = new Tree(this.indic, content);
+            final Node root = tree.compile(this.target);
+            span.end(content.length());
+            entry.future().complete(
+                new Compiled(
+                    this.indic, root, tree.keys(), new Silent(), path.toString()
+                )
+            );
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Throwable ex) {
+            synchronized (this.cache) {
+                if (this.cache.remove(path, entry)) {
+                    this.weight.addAndGet(-entry.weight());
+                }
+            }
+            entry.future().completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Puts entry and evicts least recently used ones if over capacity.
+     * Must be called holding the lock of the cache.
+     * @param path Template file.
+     * @param entry Cache entry.
+     */
+    private void put(final Path path, final Entry entry) {
+        final Entry old = this.cache.put(path, entry);
+        if (old != null) {
+            this.weight.addAndGet(-old.weight());
+        }
+        this.weight.addAndGet(entry.weight());
+        final Iterator<Map.Entry<Path, Entry>> iter =
+            this.cache.entrySet().iterator();
+        while (this.weight.get() > this.capacity && this.cache.size() > 1) {
+            final Entry eldest = iter.next().getValue();
+            iter.remove();
+            this.weight.addAndGet(-eldest.weight());
+            this.evict.incrementAndGet();
+        }
+    }
+
+    /**
+     * Cached template with the file stamp it was compiled from.
+     * @since 1.4
+     */
+    private static final class Entry {
+        /**
+         * File modification time.
+         */
+        private final long modified;
+
+        /**
+         * File size.
+         */
+        private final long bytes;
+
+        /**
+         * Template being compiled.
+         */
+        private final CompletableFuture<Template> tmpl;
+
+        /**
+         * Constructor.
+         * @param time File modification time.
+         * @param size File size.
+         */
+        Entry(final long time, final long size) {
+            this.modified = time;
+            this.bytes = size;
+            this.tmpl = new CompletableFuture<>();
+        }
+
+        /**
+         * Whether entry is for same file stamp.
+         * @param other Other entry.
+         * @return True if same.
+         */
+        public boolean same(final Entry other) {
+            return this.modified == other.modified && this.bytes == other.bytes;
+        }
+
+        /**
+         * File size.
+         * @return Size in bytes.
+         */
+        public long weight() {
+            return this.bytes;
+        }
+
+        /**
+         * Template being compiled.
+         * @return Future.
+         */
+        public CompletableFuture<Template> future() {
+            return this.tmpl;
+        }
+
+        /**
+         * Compiled template. Waits for compilation in progress.
+         * @return Template.
+         * @throws IOException When compilation failed.
+         */
+        public Template template() throws IOException {
+            try {
+                return this.tmpl.get();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            } catch (final ExecutionException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+/**
+ * Tag found in template.
+ *
+ * @since 1.4
+ */
+public final class Token {
+    /**
+     * Kind of tag.
+     */
+    private final Kind knd;
+
+    /**
+     * Tag name.
+     */
+    private final String nam;
+
+    /**
+     * Index of first tag char.
+     */
+    private final int frst;
+
+    /**
+     * Offset after last tag char.
+     */
+    private final int lst;
+
+    /**
+     * Constructor.
+     * @param kind Kind of tag.
+     * @param name Tag name.
+     * @param start Index of first tag char.
+     * @param end Offset after last tag char.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Token(final Kind kind, final String name, final int start,
+        final int end) {
+        this.knd = kind;
+        this.nam = name;
+        this.frst = start;
+        this.lst = end;
+    }
+
+    /**
+     * Kind of tag.
+     * @return Kind.
+     */
+    public Kind kind() {
+        return this.knd;
+    }
+
+    /**
+     * Tag name.
+     * @return Name.
+     */
+    public String name() {
+        return this.nam;
+    }
+
+    /**
+     * Index of first tag char.
+     * @return Start index.
+     */
+    public int start() {
+        return this.frst;
+    }
+
+    /**
+     * Offset after last tag char.
+     * @return End offset.
+     */
+    public int end() {
+        return this.lst;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tags found in template in order of appearance. Template is scanned once
+ * from left to right looking up plain tag delimiters.
+ *
+ * @since 1.4
+ */
+public final class Tokens {
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Template content.
+     */
+    private final String tmpl;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param template Template content.
+     */
+    public Tokens(final TagIndicate indicate, final CharSequence template) {
+        this.indic = indicate;
+        this.tmpl = template.toString();
+    }
+
+    /**
+     * All tags in one pass over the template. End delimiter found once is
+     * reused for every start delimiter preceding it, so no char is looked
+     * up more than twice.
+     * @return List of tags.
+     */
+    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+    public List<Token> list() {
+        final String start = this.indic.start();
+        final String end = this.indic.end();
+        final List<Token> tokens = new ArrayList<>(0);
+        int from = this.tmpl.indexOf(start);
+        int close = -1;
+        while (from >= 0) {
+            final int inner = from + start.length();
+            if (close < inner) {
+                close = this.tmpl.indexOf(end, inner);
+            }
+            Kind kind = null;
+            if (close >= 0) {
+                kind = this.kind(inner, close);
+            }
+            if (close < 0) {
+                from = -1;
+            } else if (kind == null) {
+                from = this.tmpl.indexOf(start, from + 1);
+            } else {
+                tokens.add(
+                    new Token(
+                        kind,
+                        this.name(inner, close),
+                        from,
+                        close + end.length()
+                    )
+                );
+                from = this.tmpl.indexOf(start, close + end.length());
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Kind of tag between delimiters.
+     * @param inner Index after start delimiter.
+     * @param close Index of end delimiter.
+     * @return Kind or null if text is not a tag.
+     */
+    private Kind kind(final int inner, final int close) {
+        final int first = this.first(inner, close);
+        final int last = this.last(first, close);
+        Kind kind = null;
+        if (first < last && this.skip(last, close) == close) {
+            kind = Tokens.kind(this.tmpl.charAt(this.skip(inner, close)));
+        }
+        return kind;
+    }
+
+    /**
+     * Tag name between delimiters.
+     * @param inner Index after start delimiter.
+     * @param close Index of end delimiter.
+     * @return Name.
+     */
+    private String name(final int inner, final int close) {
+        final int first = this.first(inner, close);
+        return this.tmpl.substring(first, this.last(first, close));
+    }
+
+    /**
+     * Index of first char of the name.
+     * @param inner Index after start delimiter.
+     * @param close Index of end delimiter.
+     * @return Index.
+     */
+    private int first(final int inner, final int close) {
+        int idx = this.skip(inner, close);
+        if (idx < close && Tokens.kind(this.tmpl.charAt(idx)) != Kind.VARIABLE) {
+            idx = this.skip(idx + 1, close);
+        }
+        return idx;
+    }
+
+    /**
+     * Offset after last char of the name.
+     * @param first Index of first char of the name.
+     * @param close Index of end delimiter.
+     * @return Offset.
+     */
+    private int last(final int first, final int close) {
+        int idx = first;
+        while (idx < close && Tokens.named(this.tmpl.charAt(idx))) {
+            idx += 1;
+        }
+        return idx;
+    }
+
+    /**
+     * Index of first non whitespace char.
+     * @param from Index to start from.
+     * @param close Index of end delimiter.
+     * @return Index.
+     */
+    private int skip(final int from, final int close) {
+        int idx = from;
+        while (idx < close && Character.isWhitespace(this.tmpl.charAt(idx))) {
+            idx += 1;
+        }
+        return idx;
+    }
+
+    /**
+     * Whether char can be part of the name.
+     * @param chr Char.
+     * @return True if word char or dot.
+     */
+    private static boolean named(final char chr) {
+        return chr < 'z' + 1 && Character.isLetterOrDigit(chr)
+            || chr == '_' || chr == '.';
+    }
+
+    /**
+     * Kind of tag by its sigil.
+     * @param sigil Sigil.
+     * @return Kind.
+     */
+    private static Kind kind(final char sigil) {
+        final Kind kind;
+        if (sigil == '#') {
+            kind = Kind.SECTION;
+        } else if (sigil == '^') {
+            kind = Kind.INV_SECTION;
+        } else if (sigil == '/') {
+            kind = Kind.CLOSING;
+        } else if (sigil == '>') {
+            kind = Kind.PARTIAL;
+        } else {
+            kind = Kind.VARIABLE;
+        }
+        return kind;
+    }
+}
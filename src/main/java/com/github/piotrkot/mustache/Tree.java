@@ -0,0 +1,342 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import com.github.piotrkot.mustache.nodes.Interpreted;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Template compiled into tree of nodes. Tags of given kinds become nodes,
+ * everything else, including unbalanced sections, stays static text. Kinds
+ * compiled within section bodies may differ from the kinds compiled outside
+ * of them.
+ *
+ * @since 1.4
+ */
+public final class Tree {
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Template content.
+     */
+    private final CharSequence tmpl;
+
+    /**
+     * Kinds of tags to compile outside of sections.
+     */
+    private final Set<Kind> top;
+
+    /**
+     * Kinds of tags to compile within sections.
+     */
+    private final Set<Kind> nested;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param template Template content.
+     */
+    public Tree(final TagIndicate indicate, final CharSequence template) {
+        this(indicate, template, EnumSet.allOf(Kind.class));
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param template Template content.
+     * @param kinds Kinds of tags to compile.
+     */
+    public Tree(final TagIndicate indicate, final CharSequence template,
+        final Set<Kind> kinds) {
+        this(indicate, template, kinds, kinds);
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param template Template content.
+     * @param outer Kinds of tags to compile outside of sections.
+     * @param inner Kinds of tags to compile within sections.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Tree(final TagIndicate indicate, final CharSequence template,
+        final Set<Kind> outer, final Set<Kind> inner) {
+        this.indic = indicate;
+        this.tmpl = template;
+        this.top = outer;
+        this.nested = inner;
+    }
+
+    /**
+     * Compiles template into nodes interpreted on render.
+     * @return Root node.
+     */
+    public Node compile() {
+        return this.compile(new Interpreted());
+    }
+
+    /**
+     * Compiles template into given target.
+     * @param target Compilation target.
+     * @param <T> Type of compiled representation.
+     * @return Compiled template.
+     */
+    public <T> T compile(final Target<T> target) {
+        final Deque<Frame<T>> frames = new LinkedList<>();
+        frames.push(new Frame<>(new Token(Kind.SECTION, "", 0, 0)));
+        int pos = 0;
+        for (final Token token : new Tokens(this.indic, this.tmpl).list()) {
+            if (token.kind() == Kind.CLOSING && Tree.opened(frames, token)) {
+                this.text(frames.peek(), target, pos, token.start());
+                this.close(frames, target, token);
+                pos = token.end();
+            } else if (token.kind() != Kind.CLOSING
+                && this.kinds(frames).contains(token.kind())) {
+                this.text(frames.peek(), target, pos, token.start());
+                this.open(frames, target, token);
+                pos = token.end();
+            }
+        }
+        this.text(frames.peek(), target, pos, this.tmpl.length());
+        while (frames.size() > 1) {
+            this.unwind(frames, target);
+        }
+        return target.sequence(frames.peek().items());
+    }
+
+    /**
+     * Table of tag names of the template, in order of appearance. First
+     * segments of dotted names are in the table too.
+     * @return Keys.
+     */
+    public Keys keys() {
+        final Set<String> names = new LinkedHashSet<>(0);
+        for (final Token token : new Tokens(this.indic, this.tmpl).list()) {
+            if (token.kind() != Kind.CLOSING) {
+                names.add(token.name());
+            }
+        }
+        return new Keys(new ArrayList<>(names)).rooted();
+    }
+
+    /**
+     * Kinds of tags to compile in current frame.
+     * @param frames Frames of open sections.
+     * @return Kinds.
+     */
+    private Set<Kind> kinds(final Deque<?> frames) {
+        final Set<Kind> kinds;
+        if (frames.size() > 1) {
+            kinds = this.nested;
+        } else {
+            kinds = this.top;
+        }
+        return kinds;
+    }
+
+    /**
+     * Adds compiled tag or new frame for the opening tag.
+     * @param frames Frames of open sections.
+     * @param target Compilation target.
+     * @param token Tag.
+     * @param <T> Type of compiled representation.
+     */
+    private <T> void open(final Deque<Frame<T>> frames,
+        final Target<T> target, final Token token) {
+        if (token.kind() == Kind.VARIABLE) {
+            frames.peek().add(target.variable(token.name()));
+        } else if (token.kind() == Kind.PARTIAL) {
+            frames.peek().add(target.partial(this.indic, token.name()));
+        } else if (Tree.section(token.kind())) {
+            frames.push(new Frame<>(token));
+        }
+    }
+
+    /**
+     * Closes section frame matching closing tag. Frames opened after it
+     * have no closing tag and become static text.
+     * @param frames Frames of open sections.
+     * @param target Compilation target.
+     * @param token Closing tag.
+     * @param <T> Type of compiled representation.
+     */
+    private <T> void close(final Deque<Frame<T>> frames,
+        final Target<T> target, final Token token) {
+        while (!Tree.section(frames.peek().kind())
+            || !frames.peek().name().equals(token.name())) {
+            this.unwind(frames, target);
+        }
+        final Frame<T> frame = frames.pop();
+        final T body = target.sequence(frame.items());
+        if (frame.kind() == Kind.SECTION) {
+            frames.peek().add(target.section(frame.name(), body));
+        } else {
+            frames.peek().add(target.invSection(frame.name(), body));
+        }
+    }
+
+    /**
+     * Turns top frame, which has no closing tag, into static text.
+     * @param frames Frames of open sections.
+     * @param target Compilation target.
+     * @param <T> Type of compiled representation.
+     */
+    private <T> void unwind(final Deque<Frame<T>> frames,
+        final Target<T> target) {
+        final Frame<T> frame = frames.pop();
+        this.text(frames.peek(), target, frame.start(), frame.end());
+        for (final T item : frame.items()) {
+            frames.peek().add(item);
+        }
+    }
+
+    /**
+     * Adds static text of the template unless empty.
+     * @param frame Frame to add to.
+     * @param target Compilation target.
+     * @param start Start index.
+     * @param end End index.
+     * @param <T> Type of compiled representation.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private <T> void text(final Frame<T> frame, final Target<T> target,
+        final int start, final int end) {
+        if (start < end) {
+            frame.add(
+                target.text(this.tmpl.subSequence(start, end).toString())
+            );
+        }
+    }
+
+    /**
+     * Whether closing tag matches any open section.
+     * @param frames Frames of open sections.
+     * @param token Closing tag.
+     * @return True if matches.
+     */
+    private static boolean opened(final Deque<? extends Frame<?>> frames,
+        final Token token) {
+        boolean found = false;
+        final Iterator<? extends Frame<?>> iter = frames.iterator();
+        while (iter.hasNext() && !found) {
+            final Frame<?> frame = iter.next();
+            found = iter.hasNext() && Tree.section(frame.kind())
+                && frame.name().equals(token.name());
+        }
+        return found;
+    }
+
+    /**
+     * Whether tag of kind opens section frame.
+     * @param kind Kind.
+     * @return True if section or inverted section.
+     */
+    private static boolean section(final Kind kind) {
+        return kind == Kind.SECTION || kind == Kind.INV_SECTION;
+    }
+
+    /**
+     * Section being compiled.
+     * @param <T> Type of compiled representation.
+     * @since 1.4
+     */
+    private static final class Frame<T> {
+        /**
+         * Opening tag.
+         */
+        private final Token open;
+
+        /**
+         * Compiled items.
+         */
+        private final List<T> list;
+
+        /**
+         * Constructor.
+         * @param token Opening tag.
+         */
+        Frame(final Token token) {
+            this.open = token;
+            this.list = new ArrayList<>(0);
+        }
+
+        /**
+         * Adds compiled item.
+         * @param item Item.
+         */
+        public void add(final T item) {
+            this.list.add(item);
+        }
+
+        /**
+         * Compiled items.
+         * @return Items.
+         */
+        public List<T> items() {
+            return this.list;
+        }
+
+        /**
+         * Section name.
+         * @return Name.
+         */
+        public String name() {
+            return this.open.name();
+        }
+
+        /**
+         * Section kind.
+         * @return Kind.
+         */
+        public Kind kind() {
+            return this.open.kind();
+        }
+
+        /**
+         * Index of first char of opening tag.
+         * @return Index.
+         */
+        public int start() {
+            return this.open.start();
+        }
+
+        /**
+         * Offset after last char of opening tag.
+         * @return Offset.
+         */
+        public int end() {
+            return this.open.end();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+/**
+ * String of regex quoted by {@link java.util.regex.Pattern#quote(String)}
+ * or with characters escaped by backslash.
+ *
+ * @since 1.4
+ */
+final class Unquoted {
+    /**
+     * Start of quotation.
+     */
+    private static final String OPEN = "\\Q";
+
+    /**
+     * End of quotation.
+     */
+    private static final String CLOSE = "\\E";
+
+    /**
+     * Regex safe string.
+     */
+    private final String safe;
+
+    /**
+     * Constructor.
+     * @param regex Regex safe string.
+     */
+    Unquoted(final String regex) {
+        this.safe = regex;
+    }
+
+    /**
+     * String matched by the regex.
+     * @return String.
+     */
+    public String value() {
+        final String value;
+        if (this.safe.startsWith(Unquoted.OPEN)
+            && this.safe.endsWith(Unquoted.CLOSE)
+            && this.safe.length() >= Unquoted.OPEN.length()
+                + Unquoted.CLOSE.length()) {
+            value = this.safe.substring(
+                Unquoted.OPEN.length(),
+                this.safe.length() - Unquoted.CLOSE.length()
+            ).replace("\\E\\\\E\\Q", Unquoted.CLOSE);
+        } else {
+            value = this.safe.replaceAll("\\\\(.)", "$1");
+        }
+        return value;
+    }
+}
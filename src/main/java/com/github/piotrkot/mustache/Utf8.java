@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered UTF-8 encoder of chars into stream.
+ *
+ * @since 1.4
+ */
+final class Utf8 {
+    /**
+     * Size of buffer.
+     */
+    private static final int SIZE = 8192;
+
+    /**
+     * Replacement of malformed chars.
+     */
+    private static final int MALFORMED = '?';
+
+    /**
+     * Stream.
+     */
+    private final OutputStream stream;
+
+    /**
+     * Buffer of encoded bytes.
+     */
+    private final byte[] buffer;
+
+    /**
+     * Count of bytes in buffer.
+     */
+    private int count;
+
+    /**
+     * High surrogate waiting for low one, zero if none.
+     */
+    private char high;
+
+    /**
+     * Constructor.
+     * @param stream Stream.
+     */
+    Utf8(final OutputStream stream) {
+        this.stream = stream;
+        this.buffer = new byte[Utf8.SIZE];
+    }
+
+    /**
+     * Writes encoded bytes.
+     * @param bytes Bytes.
+     * @throws IOException When fails.
+     */
+    public void write(final byte[] bytes) throws IOException {
+        if (this.count + bytes.length > this.buffer.length) {
+            this.drain();
+        }
+        if (bytes.length > this.buffer.length) {
+            this.stream.write(bytes);
+        } else {
+            System.arraycopy(bytes, 0, this.buffer, this.count, bytes.length);
+            this.count += bytes.length;
+        }
+    }
+
+    /**
+     * Encodes char.
+     * @param chr Char.
+     * @throws IOException When fails.
+     */
+    public void encode(final char chr) throws IOException {
+        if (this.high == 0) {
+            this.single(chr);
+        } else {
+            this.pair(chr);
+        }
+    }
+
+    /**
+     * Writes buffer to stream.
+     * @throws IOException When fails.
+     */
+    public void drain() throws IOException {
+        this.stream.write(this.buffer, 0, this.count);
+        this.count = 0;
+    }
+
+    /**
+     * Encodes char not following high surrogate.
+     * @param chr Char.
+     * @throws IOException When fails.
+     */
+    private void single(final char chr) throws IOException {
+        if (chr < 0x80) {
+            this.put(chr);
+        } else if (chr < 0x800) {
+            this.put(0xc0 | chr >> 6);
+            this.put(0x80 | chr & 0x3f);
+        } else if (Character.isHighSurrogate(chr)) {
+            this.high = chr;
+        } else if (Character.isLowSurrogate(chr)) {
+            this.put(Utf8.MALFORMED);
+        } else {
+            this.put(0xe0 | chr >> 12);
+            this.put(0x80 | chr >> 6 & 0x3f);
+            this.put(0x80 | chr & 0x3f);
+        }
+    }
+
+    /**
+     * Encodes char following high surrogate.
+     * @param chr Char.
+     * @throws IOException When fails.
+     */
+    private void pair(final char chr) throws IOException {
+        final char first = this.high;
+        this.high = 0;
+        if (Character.isLowSurrogate(chr)) {
+            final int code = Character.toCodePoint(first, chr);
+            this.put(0xf0 | code >> 18);
+            this.put(0x80 | code >> 12 & 0x3f);
+            this.put(0x80 | code >> 6 & 0x3f);
+            this.put(0x80 | code & 0x3f);
+        } else {
+            this.put(Utf8.MALFORMED);
+            this.single(chr);
+        }
+    }
+
+    /**
+     * Puts byte into buffer.
+     * @param value Byte.
+     * @throws IOException When fails.
+     */
+    private void put(final int value) throws IOException {
+        if (this.count == this.buffer.length) {
+            this.drain();
+        }
+        this.buffer[this.count] = (byte) value;
+        this.count += 1;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * File of compiled template, replaced atomically with temporary file
+ * written next to it, so concurrent readers never see it partially
+ * written.
+ * @since 1.4
+ */
+final class Binary {
+    /**
+     * File.
+     */
+    private final Path file;
+
+    /**
+     * Constructor.
+     * @param path File.
+     */
+    Binary(final Path path) {
+        this.file = path;
+    }
+
+    /**
+     * Whether file exists.
+     * @return True if exists.
+     */
+    public boolean exists() {
+        return Files.exists(this.file);
+    }
+
+    /**
+     * Content of the file.
+     * @return Buffer.
+     * @throws IOException When fails.
+     */
+    public ByteBuffer buffer() throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(this.file));
+    }
+
+    /**
+     * Replaces content of the file.
+     * @param bytes Content.
+     * @throws IOException When fails.
+     */
+    public void write(final byte[] bytes) throws IOException {
+        final Path tmp = Files.createTempFile(
+            this.file.toAbsolutePath().getParent(),
+            this.file.getFileName().toString(), ".tmp"
+        );
+        try {
+            Files.write(tmp, bytes);
+            try {
+                Files.move(tmp, this.file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(
+                    tmp, this.file, StandardCopyOption.REPLACE_EXISTING
+                );
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Target;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compiled template read from binary format into a target.
+ * @param <T> Type of compiled representation.
+ * @since 1.4
+ */
+final class Decoder<T> {
+    /**
+     * Buffer positioned at the item to read.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Table of tag names.
+     */
+    private final List<String> table;
+
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Compilation target.
+     */
+    private final Target<T> target;
+
+    /**
+     * Constructor.
+     * @param buffer Buffer positioned at the item to read.
+     * @param keys Table of tag names.
+     * @param indicate Indicate.
+     * @param target Compilation target.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    Decoder(final ByteBuffer buffer, final List<String> keys,
+        final TagIndicate indicate, final Target<T> target) {
+        this.buffer = buffer;
+        this.table = keys;
+        this.indic = indicate;
+        this.target = target;
+    }
+
+    /**
+     * Reads next item.
+     * @return Compiled item.
+     * @throws IOException When format is broken.
+     */
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    public T item() throws IOException {
+        final byte code = this.buffer.get();
+        final int operand = this.buffer.getInt();
+        final T item;
+        if (code == Format.TEXT) {
+            item = this.target.text(Decoder.text(this.buffer, operand));
+        } else if (code == Format.VARIABLE) {
+            item = this.target.variable(this.key(operand));
+        } else if (code == Format.SECTION) {
+            item = this.target.section(this.key(operand), this.item());
+        } else if (code == Format.INV_SECTION) {
+            item = this.target.invSection(this.key(operand), this.item());
+        } else if (code == Format.PARTIAL) {
+            item = this.target.partial(this.indic, this.key(operand));
+        } else if (code == Format.SEQUENCE) {
+            final List<T> items = new ArrayList<>(
+                Math.min(operand, this.buffer.remaining())
+            );
+            for (int idx = 0; idx < operand; idx += 1) {
+                items.add(this.item());
+            }
+            item = this.target.sequence(items);
+        } else {
+            throw new IOException(String.format("Unknown opcode %d", code));
+        }
+        return item;
+    }
+
+    /**
+     * Reads root item, if format is not broken.
+     * @return Compiled item or empty if format is broken.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public Optional<T> root() {
+        Optional<T> root;
+        try {
+            root = Optional.of(this.item());
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final IOException | RuntimeException ex) {
+            root = Optional.empty();
+        }
+        return root;
+    }
+
+    /**
+     * Reads UTF-8 text of given length.
+     * @param buffer Buffer.
+     * @param length Length in bytes.
+     * @return Text.
+     * @throws BufferUnderflowException When buffer is too short.
+     */
+    static String text(final ByteBuffer buffer, final int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Tag name by index.
+     * @param index Index.
+     * @return Name.
+     * @throws IOException When index is out of table.
+     */
+    private String key(final int index) throws IOException {
+        if (index < 0 || index >= this.table.size()) {
+            throw new IOException(String.format("Unknown name %d", index));
+        }
+        return this.table.get(index);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Target;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compilation into binary format. Tag names are collected to the table
+ * and referred by index.
+ * @since 1.4
+ */
+final class Encoder implements Target<byte[]> {
+    /**
+     * Table of tag names with their indexes.
+     */
+    private final Map<String, Integer> table;
+
+    /**
+     * Constructor.
+     */
+    Encoder() {
+        this.table = new LinkedHashMap<>();
+    }
+
+    @Override
+    public byte[] text(final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return Encoder.opcode(Format.TEXT, bytes.length, bytes);
+    }
+
+    @Override
+    public byte[] variable(final String name) {
+        return Encoder.opcode(Format.VARIABLE, this.key(name));
+    }
+
+    @Override
+    public byte[] section(final String name, final byte[] body) {
+        return Encoder.opcode(Format.SECTION, this.key(name), body);
+    }
+
+    @Override
+    public byte[] invSection(final String name, final byte[] body) {
+        return Encoder.opcode(Format.INV_SECTION, this.key(name), body);
+    }
+
+    @Override
+    public byte[] partial(final TagIndicate indicate, final String name) {
+        return Encoder.opcode(Format.PARTIAL, this.key(name));
+    }
+
+    @Override
+    public byte[] sequence(final List<byte[]> items) {
+        return Encoder.opcode(
+            Format.SEQUENCE, items.size(), items.toArray(new byte[0][])
+        );
+    }
+
+    /**
+     * Table of tag names in order of their indexes.
+     * @return Names.
+     */
+    public List<String> keys() {
+        return new ArrayList<>(this.table.keySet());
+    }
+
+    /**
+     * Index of tag name in the table.
+     * @param name Tag name.
+     * @return Index.
+     */
+    private int key(final String name) {
+        return this.table.computeIfAbsent(name, key -> this.table.size());
+    }
+
+    /**
+     * Opcode with operand followed by bytes.
+     * @param code Opcode.
+     * @param operand Operand.
+     * @param tail Following bytes.
+     * @return Bytes.
+     */
+    private static byte[] opcode(final byte code, final int operand,
+        final byte[]... tail) {
+        int size = Byte.BYTES + Integer.BYTES;
+        for (final byte[] bytes : tail) {
+            size += bytes.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(code).putInt(operand);
+        for (final byte[] bytes : tail) {
+            buffer.put(bytes);
+        }
+        return buffer.array();
+    }
+}
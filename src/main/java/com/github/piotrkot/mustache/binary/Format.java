@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+/**
+ * Binary format of compiled template. File starts with a header of magic
+ * number, format version, source size, modification time and checksum,
+ * tag delimiters and table of tag names. Then follows the root sequence,
+ * where every item is an opcode with operands and section bodies nested.
+ * @since 1.4
+ */
+final class Format {
+    /**
+     * Magic number, "MSTC" in ASCII.
+     */
+    static final int MAGIC = 0x4d535443;
+
+    /**
+     * Version of the format. Must change on every incompatible change.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Static text opcode. Operand is the UTF-8 text.
+     */
+    static final byte TEXT = 1;
+
+    /**
+     * Variable opcode. Operand is index of name in the table.
+     */
+    static final byte VARIABLE = 2;
+
+    /**
+     * Section opcode. Operands are index of name and body.
+     */
+    static final byte SECTION = 3;
+
+    /**
+     * Inverted section opcode. Operands are index of name and body.
+     */
+    static final byte INV_SECTION = 4;
+
+    /**
+     * Partial opcode. Operand is index of name in the table.
+     */
+    static final byte PARTIAL = 5;
+
+    /**
+     * Sequence opcode. Operands are number of items and the items.
+     */
+    static final byte SEQUENCE = 6;
+
+    /**
+     * Hidden constructor.
+     */
+    private Format() {
+        // utility class
+    }
+}
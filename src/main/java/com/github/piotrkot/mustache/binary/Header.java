@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+import com.github.piotrkot.mustache.TagIndicate;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Header of binary template with table of tag names. Header matches the
+ * source of the same size and modification time, or else of the same
+ * checksum, so the source is read only when its stamp changes.
+ * @since 1.4
+ */
+final class Header {
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Template source.
+     */
+    private final Source source;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param src Template source.
+     */
+    Header(final TagIndicate indicate, final Source src) {
+        this.indic = indicate;
+        this.source = src;
+    }
+
+    /**
+     * Reads header and table of tag names.
+     * @param buffer Buffer with binary template.
+     * @return Names, with buffer positioned at the root item, or empty
+     *  when header does not match.
+     * @throws IOException When fails to read source.
+     */
+    public Optional<List<String>> keys(final ByteBuffer buffer)
+        throws IOException {
+        Optional<List<String>> keys = Optional.empty();
+        try {
+            if (this.matches(buffer)) {
+                final int count = buffer.getInt();
+                final List<String> names = new ArrayList<>(count);
+                for (int idx = 0; idx < count; idx += 1) {
+                    names.add(Header.string(buffer));
+                }
+                keys = Optional.of(names);
+            }
+        } catch (final BufferUnderflowException ex) {
+            keys = Optional.empty();
+        }
+        return keys;
+    }
+
+    /**
+     * Binary template with this header.
+     * @param keys Table of tag names.
+     * @param root Root item.
+     * @return Bytes.
+     * @throws IOException When fails to read source.
+     */
+    public byte[] bytes(final List<String> keys, final byte[] root)
+        throws IOException {
+        final List<byte[]> strings = new ArrayList<>(keys.size() + 2);
+        strings.add(Header.bytes(this.indic.start()));
+        strings.add(Header.bytes(this.indic.end()));
+        for (final String key : keys) {
+            strings.add(Header.bytes(key));
+        }
+        int size = Integer.BYTES * 3 + Long.BYTES * 3 + root.length;
+        for (final byte[] bytes : strings) {
+            size += bytes.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size)
+            .putInt(Format.MAGIC)
+            .putInt(Format.VERSION)
+            .putLong(this.source.size())
+            .putLong(this.source.modified())
+            .putLong(this.source.checksum())
+            .put(strings.get(0))
+            .put(strings.get(1))
+            .putInt(keys.size());
+        for (final byte[] bytes : strings.subList(2, strings.size())) {
+            buffer.put(bytes);
+        }
+        return buffer.put(root).array();
+    }
+
+    /**
+     * Whether format, source and delimiters match.
+     * @param buffer Buffer with binary template.
+     * @return True if matches.
+     * @throws IOException When fails to read source.
+     */
+    private boolean matches(final ByteBuffer buffer) throws IOException {
+        final boolean format = buffer.getInt() == Format.MAGIC
+            && buffer.getInt() == Format.VERSION;
+        boolean matches = false;
+        if (format) {
+            final long size = buffer.getLong();
+            final long modified = buffer.getLong();
+            final long crc = buffer.getLong();
+            final boolean same = size == this.source.size()
+                && modified == this.source.modified()
+                || crc == this.source.checksum();
+            matches = same
+                && Header.string(buffer).equals(this.indic.start())
+                && Header.string(buffer).equals(this.indic.end());
+        }
+        return matches;
+    }
+
+    /**
+     * Reads length prefixed UTF-8 string.
+     * @param buffer Buffer.
+     * @return String.
+     */
+    private static String string(final ByteBuffer buffer) {
+        return Decoder.text(buffer, buffer.getInt());
+    }
+
+    /**
+     * Length prefixed UTF-8 string.
+     * @param text String.
+     * @return Bytes.
+     */
+    private static byte[] bytes(final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Integer.BYTES + bytes.length)
+            .putInt(bytes.length).put(bytes).array();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+import com.github.piotrkot.mustache.Compiled;
+import com.github.piotrkot.mustache.Context;
+import com.github.piotrkot.mustache.Encoded;
+import com.github.piotrkot.mustache.Keys;
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.Slotted;
+import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Target;
+import com.github.piotrkot.mustache.Tree;
+import com.github.piotrkot.mustache.nodes.Interpreted;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.IoChecked;
+import org.cactoos.scalar.Solid;
+
+/**
+ * Template loaded from its binary compiled form. Binary file is read at
+ * once and no lexing is done. Source is read only if its size or
+ * modification time differs from the ones recorded. If the binary file is
+ * missing, broken, has other format version, delimiters or source
+ * checksum, the source is compiled again and the binary file is replaced
+ * atomically, so concurrent loaders never read it partially written.
+ *
+ * @since 1.4
+ */
+public final class Precompiled implements Slotted {
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Template source file.
+     */
+    private final Path src;
+
+    /**
+     * Compiled template file.
+     */
+    private final Path bin;
+
+    /**
+     * Compilation target.
+     */
+    private final Target<Node> target;
+
+    /**
+     * Compiled template.
+     */
+    private final Scalar<Compiled> tree;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param source Template source file.
+     * @param binary Compiled template file.
+     */
+    public Precompiled(final TagIndicate indicate, final Path source,
+        final Path binary) {
+        this(indicate, source, binary, new Interpreted());
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param source Template source file.
+     * @param binary Compiled template file.
+     * @param target Compilation target.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Precompiled(final TagIndicate indicate, final Path source,
+        final Path binary, final Target<Node> target) {
+        this.indic = indicate;
+        this.src = source;
+        this.bin = binary;
+        this.target = target;
+        this.tree = new Solid<>(this::compiled);
+    }
+
+    @Override
+    public String supply(final Map<CharSequence, Object> pairs)
+        throws IOException {
+        return new IoChecked<>(this.tree).value().supply(pairs);
+    }
+
+    @Override
+    public void supply(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        new IoChecked<>(this.tree).value().supply(pairs, output);
+    }
+
+    @Override
+    public CompletableFuture<String> supplyAsync(
+        final Map<CharSequence, Object> pairs) throws IOException {
+        return new IoChecked<>(this.tree).value().supplyAsync(pairs);
+    }
+
+    @Override
+    public Context context() throws IOException {
+        return new IoChecked<>(this.tree).value().context();
+    }
+
+    @Override
+    public void supply(final Map<CharSequence, Object> pairs,
+        final OutputStream stream, final Charset charset) throws IOException {
+        final Writer writer = new Encoded(stream, charset);
+        this.supply(pairs, writer);
+        writer.flush();
+    }
+
+    @Override
+    public String start() {
+        return this.indic.start();
+    }
+
+    @Override
+    public String end() {
+        return this.indic.end();
+    }
+
+    @Override
+    public String safeStart() {
+        return this.indic.safeStart();
+    }
+
+    @Override
+    public String safeEnd() {
+        return this.indic.safeEnd();
+    }
+
+    /**
+     * Compiled template, read from binary file or compiled again.
+     * @return Compiled template.
+     * @throws IOException When fails.
+     */
+    public Compiled compiled() throws IOException {
+        final Source source = new Source(this.src);
+        final Header header = new Header(this.indic, source);
+        final Binary binary = new Binary(this.bin);
+        ByteBuffer buffer = ByteBuffer.allocate(0);
+        if (binary.exists()) {
+            buffer = binary.buffer();
+        }
+        Optional<List<String>> keys = header.keys(buffer);
+        Optional<Node> root = Optional.empty();
+        if (keys.isPresent()) {
+            root = new Decoder<>(
+                buffer, keys.get(), this.indic, this.target
+            ).root();
+        }
+        if (!root.isPresent()) {
+            final Encoder encoder = new Encoder();
+            final byte[] compiled = new Tree(
+                this.indic, new String(source.bytes(), StandardCharsets.UTF_8)
+            ).compile(encoder);
+            final byte[] bytes = header.bytes(encoder.keys(), compiled);
+            binary.write(bytes);
+            buffer = ByteBuffer.wrap(bytes);
+            keys = header.keys(buffer);
+            root = Optional.of(
+                new Decoder<>(
+                    buffer, keys.get(), this.indic, this.target
+                ).item()
+            );
+        }
+        return new Compiled(
+            this.indic, root.get(), new Keys(keys.get()).rooted()
+        );
+    }
+}
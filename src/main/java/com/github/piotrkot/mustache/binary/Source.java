@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.IoChecked;
+import org.cactoos.scalar.Solid;
+
+/**
+ * Template source file stamped by size, modification time and checksum.
+ * Attributes and content are read once, content only when asked for.
+ * @since 1.4
+ */
+final class Source {
+    /**
+     * Attributes of the file.
+     */
+    private final Scalar<BasicFileAttributes> attrs;
+
+    /**
+     * Content of the file.
+     */
+    private final Scalar<byte[]> content;
+
+    /**
+     * Constructor.
+     * @param path Source file.
+     */
+    Source(final Path path) {
+        this.attrs = new Solid<>(
+            () -> Files.readAttributes(path, BasicFileAttributes.class)
+        );
+        this.content = new Solid<>(() -> Files.readAllBytes(path));
+    }
+
+    /**
+     * Size of the file.
+     * @return Size in bytes.
+     * @throws IOException When fails.
+     */
+    public long size() throws IOException {
+        return new IoChecked<>(this.attrs).value().size();
+    }
+
+    /**
+     * Modification time of the file.
+     * @return Milliseconds since epoch.
+     * @throws IOException When fails.
+     */
+    public long modified() throws IOException {
+        return new IoChecked<>(this.attrs).value().lastModifiedTime()
+            .toMillis();
+    }
+
+    /**
+     * Checksum of the content.
+     * @return CRC32 checksum.
+     * @throws IOException When fails.
+     */
+    public long checksum() throws IOException {
+        final byte[] bytes = this.bytes();
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Content of the file.
+     * @return Bytes.
+     * @throws IOException When fails.
+     */
+    public byte[] bytes() throws IOException {
+        return new IoChecked<>(this.content).value();
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bytecode;
+
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.nodes.Slot;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Class rendering sequence of items in straight-line code. Static texts
+ * become constant appends, or copies of their UTF-8 bytes for byte output,
+ * variables become inlined lookups of their slots and other nodes are called
+ * from an array passed to the constructor.
+ * @since 1.4
+ */
+final class Assembly {
+    /**
+     * Name of the field with other nodes.
+     */
+    static final String FIELD = "nodes";
+
+    /**
+     * Name of the field with encoded texts.
+     */
+    static final String TEXTS = "texts";
+
+    /**
+     * Descriptor of encoded texts.
+     */
+    static final String MATRIX = Type.getDescriptor(byte[][].class);
+
+    /**
+     * Name of the field with slots of variables.
+     */
+    static final String VARS = "slots";
+
+    /**
+     * Descriptor of slot array.
+     */
+    static final String KEYS = Type.getDescriptor(Slot[].class);
+
+    /**
+     * Internal name of node type.
+     */
+    static final String NODE = Type.getInternalName(Node.class);
+
+    /**
+     * Descriptor of node array.
+     */
+    static final String ARRAY = Type.getDescriptor(Node[].class);
+
+    /**
+     * Binary class name.
+     */
+    private final String nam;
+
+    /**
+     * Items to render.
+     */
+    private final List<Node> list;
+
+    /**
+     * Constructor.
+     * @param name Binary class name.
+     * @param items Items to render.
+     */
+    Assembly(final String name, final List<Node> items) {
+        this.nam = name;
+        this.list = items;
+    }
+
+    /**
+     * Binary class name.
+     * @return Name.
+     */
+    public String name() {
+        return this.nam;
+    }
+
+    /**
+     * Nodes called by generated class.
+     * @return Nodes to pass to the constructor.
+     */
+    public Node[] nodes() {
+        final List<Node> nodes = new ArrayList<>(0);
+        for (final Node item : this.list) {
+            if (!(item instanceof Text || item instanceof Lookup)) {
+                nodes.add(item);
+            }
+        }
+        return nodes.toArray(new Node[0]);
+    }
+
+    /**
+     * Slots of variables looked up by generated class.
+     * @return Slots to pass to the constructor.
+     */
+    public Slot[] slots() {
+        final List<Slot> slots = new ArrayList<>(0);
+        for (final Node item : this.list) {
+            if (item instanceof Lookup) {
+                slots.add(((Lookup) item).slot());
+            }
+        }
+        return slots.toArray(new Slot[0]);
+    }
+
+    /**
+     * Texts encoded in UTF-8, chunk by chunk, used by generated class.
+     * @return Encoded texts to pass to the constructor.
+     */
+    public byte[][] encoded() {
+        final List<byte[]> chunks = new ArrayList<>(0);
+        for (final Node item : this.list) {
+            if (item instanceof Text) {
+                for (final String chunk : ((Text) item).chunks()) {
+                    chunks.add(chunk.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return chunks.toArray(new byte[0][]);
+    }
+
+    /**
+     * Class bytes.
+     * @return Bytes.
+     */
+    public byte[] bytes() {
+        final String internal = this.nam.replace('.', '/');
+        final ClassWriter writer = new ClassWriter(
+            ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS
+        );
+        writer.visit(
+            Opcodes.V1_8,
+            Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+            internal,
+            null,
+            Type.getInternalName(Object.class),
+            new String[] {Assembly.NODE}
+        );
+        writer.visitField(
+            Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+            Assembly.FIELD, Assembly.ARRAY, null, null
+        ).visitEnd();
+        writer.visitField(
+            Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+            Assembly.TEXTS, Assembly.MATRIX, null, null
+        ).visitEnd();
+        writer.visitField(
+            Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
+            Assembly.VARS, Assembly.KEYS, null, null
+        ).visitEnd();
+        Assembly.constructor(writer, internal);
+        this.render(writer, internal);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Generates render method.
+     * @param writer Class writer.
+     * @param internal Internal class name.
+     */
+    private void render(final ClassWriter writer, final String internal) {
+        final MethodVisitor method = writer.visitMethod(
+            Opcodes.ACC_PUBLIC,
+            "render",
+            "(Ljava/util/Map;Ljava/lang/Appendable;)V",
+            null,
+            new String[] {"java/io/IOException"}
+        );
+        method.visitCode();
+        final Code code = new Code(method, internal);
+        int idx = 0;
+        int chunk = 0;
+        int slot = 0;
+        for (final Node item : this.list) {
+            if (item instanceof Text) {
+                for (final String text : ((Text) item).chunks()) {
+                    code.text(text, chunk);
+                    chunk += 1;
+                }
+            } else if (item instanceof Lookup) {
+                code.lookup(slot);
+                slot += 1;
+            } else {
+                code.call(idx);
+                idx += 1;
+            }
+        }
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    /**
+     * Generates constructor storing other nodes.
+     * @param writer Class writer.
+     * @param internal Internal class name.
+     */
+    private static void constructor(final ClassWriter writer,
+        final String internal) {
+        final MethodVisitor method = writer.visitMethod(
+            Opcodes.ACC_PUBLIC,
+            "<init>",
+            String.format(
+                "(%s%s%s)V", Assembly.ARRAY, Assembly.MATRIX, Assembly.KEYS
+            ),
+            null,
+            null
+        );
+        method.visitCode();
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitMethodInsn(
+            Opcodes.INVOKESPECIAL,
+            Type.getInternalName(Object.class),
+            "<init>",
+            "()V",
+            false
+        );
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitVarInsn(Opcodes.ALOAD, 1);
+        method.visitFieldInsn(
+            Opcodes.PUTFIELD, internal, Assembly.FIELD, Assembly.ARRAY
+        );
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitVarInsn(Opcodes.ALOAD, 2);
+        method.visitFieldInsn(
+            Opcodes.PUTFIELD, internal, Assembly.TEXTS, Assembly.MATRIX
+        );
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitVarInsn(Opcodes.ALOAD, 3);
+        method.visitFieldInsn(
+            Opcodes.PUTFIELD, internal, Assembly.VARS, Assembly.KEYS
+        );
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bytecode;
+
+import com.github.piotrkot.mustache.ByteOutput;
+import com.github.piotrkot.mustache.nodes.Slot;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Instructions of render method of generated class.
+ * @since 1.4
+ */
+final class Code {
+    /**
+     * Internal name of byte output type.
+     */
+    private static final String OUTPUT = Type.getInternalName(ByteOutput.class);
+
+    /**
+     * Internal name of slot type.
+     */
+    private static final String SLOTTED = Type.getInternalName(Slot.class);
+
+    /**
+     * Internal name of appendable type.
+     */
+    private static final String APPENDABLE = "java/lang/Appendable";
+
+    /**
+     * Method visitor.
+     */
+    private final MethodVisitor method;
+
+    /**
+     * Internal class name.
+     */
+    private final String internal;
+
+    /**
+     * Constructor.
+     * @param visitor Method visitor.
+     * @param name Internal class name.
+     */
+    Code(final MethodVisitor visitor, final String name) {
+        this.method = visitor;
+        this.internal = name;
+    }
+
+    /**
+     * Generates copy of encoded text for encoded output or append of
+     * constant text otherwise.
+     * @param text Text not longer than chunk.
+     * @param index Index of encoded text.
+     */
+    public void text(final String text, final int index) {
+        final Label chars = new Label();
+        final Label done = new Label();
+        this.method.visitVarInsn(Opcodes.ALOAD, 2);
+        this.method.visitTypeInsn(Opcodes.INSTANCEOF, Code.OUTPUT);
+        this.method.visitJumpInsn(Opcodes.IFEQ, chars);
+        this.method.visitVarInsn(Opcodes.ALOAD, 2);
+        this.method.visitTypeInsn(Opcodes.CHECKCAST, Code.OUTPUT);
+        this.method.visitLdcInsn(text);
+        this.method.visitVarInsn(Opcodes.ALOAD, 0);
+        this.method.visitFieldInsn(
+            Opcodes.GETFIELD, this.internal, Assembly.TEXTS, Assembly.MATRIX
+        );
+        this.method.visitLdcInsn(index);
+        this.method.visitInsn(Opcodes.AALOAD);
+        this.method.visitMethodInsn(
+            Opcodes.INVOKEINTERFACE,
+            Code.OUTPUT,
+            "text",
+            "(Ljava/lang/String;[B)V",
+            true
+        );
+        this.method.visitJumpInsn(Opcodes.GOTO, done);
+        this.method.visitLabel(chars);
+        this.method.visitVarInsn(Opcodes.ALOAD, 2);
+        this.method.visitLdcInsn(text);
+        this.append();
+        this.method.visitLabel(done);
+    }
+
+    /**
+     * Generates inlined lookup of variable slot.
+     * @param index Index of the slot.
+     */
+    public void lookup(final int index) {
+        this.slot(index);
+        this.method.visitVarInsn(Opcodes.ALOAD, 1);
+        this.method.visitVarInsn(Opcodes.ALOAD, 2);
+        this.method.visitMethodInsn(
+            Opcodes.INVOKEVIRTUAL,
+            Code.SLOTTED,
+            "append",
+            "(Ljava/util/Map;Ljava/lang/Appendable;)V",
+            false
+        );
+    }
+
+    /**
+     * Generates call of other node.
+     * @param index Index of the node.
+     */
+    public void call(final int index) {
+        this.method.visitVarInsn(Opcodes.ALOAD, 0);
+        this.method.visitFieldInsn(
+            Opcodes.GETFIELD, this.internal, Assembly.FIELD, Assembly.ARRAY
+        );
+        this.method.visitLdcInsn(index);
+        this.method.visitInsn(Opcodes.AALOAD);
+        this.method.visitVarInsn(Opcodes.ALOAD, 1);
+        this.method.visitVarInsn(Opcodes.ALOAD, 2);
+        this.method.visitMethodInsn(
+            Opcodes.INVOKEINTERFACE,
+            Assembly.NODE,
+            "render",
+            "(Ljava/util/Map;Ljava/lang/Appendable;)V",
+            true
+        );
+    }
+
+    /**
+     * Generates load of variable slot.
+     * @param index Index of the slot.
+     */
+    private void slot(final int index) {
+        this.method.visitVarInsn(Opcodes.ALOAD, 0);
+        this.method.visitFieldInsn(
+            Opcodes.GETFIELD, this.internal, Assembly.VARS, Assembly.KEYS
+        );
+        this.method.visitLdcInsn(index);
+        this.method.visitInsn(Opcodes.AALOAD);
+    }
+
+    /**
+     * Generates append of char sequence on the stack to the output.
+     */
+    private void append() {
+        this.method.visitMethodInsn(
+            Opcodes.INVOKEINTERFACE,
+            Code.APPENDABLE,
+            "append",
+            "(Ljava/lang/CharSequence;)Ljava/lang/Appendable;",
+            true
+        );
+        this.method.visitInsn(Opcodes.POP);
+    }
+}
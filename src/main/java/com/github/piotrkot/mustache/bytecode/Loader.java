@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bytecode;
+
+import com.github.piotrkot.mustache.Node;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class loader of generated classes. Classes can be unloaded together
+ * with their loader once template is not used anymore.
+ * @since 1.4
+ */
+final class Loader extends ClassLoader {
+    /**
+     * Number of classes defined.
+     */
+    private final AtomicInteger count;
+
+    /**
+     * Constructor. Parent is the loader of this library, since generated
+     * classes refer only to its types.
+     */
+    @SuppressWarnings("PMD.UseProperClassLoader")
+    Loader() {
+        super(Node.class.getClassLoader());
+        this.count = new AtomicInteger();
+    }
+
+    /**
+     * Unique name for next class.
+     * @return Binary class name.
+     */
+    public String name() {
+        return String.format(
+            "%s.Render%d",
+            Loader.class.getPackage().getName(),
+            this.count.incrementAndGet()
+        );
+    }
+
+    /**
+     * Defines class.
+     * @param name Binary class name.
+     * @param bytes Class bytes.
+     * @return Class.
+     */
+    public Class<?> define(final String name, final byte[] bytes) {
+        return this.defineClass(name, bytes, 0, bytes.length);
+    }
+}
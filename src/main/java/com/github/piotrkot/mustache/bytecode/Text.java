@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bytecode;
+
+import com.github.piotrkot.mustache.Node;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static text to be generated as constant.
+ * @since 1.4
+ */
+final class Text implements Node {
+    /**
+     * Max length of text in one constant.
+     */
+    private static final int CHUNK = 16_384;
+
+    /**
+     * Text.
+     */
+    private final String txt;
+
+    /**
+     * Constructor.
+     * @param text Text.
+     */
+    Text(final String text) {
+        this.txt = text;
+    }
+
+    @Override
+    public void render(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        output.append(this.txt);
+    }
+
+    /**
+     * Text split into chunks fitting in one constant. Surrogate pairs are
+     * not split, so every chunk can be encoded alone.
+     * @return Chunks.
+     */
+    public List<String> chunks() {
+        final List<String> chunks = new ArrayList<>(0);
+        int pos = 0;
+        while (pos < this.txt.length()) {
+            int end = Math.min(this.txt.length(), pos + Text.CHUNK);
+            if (end < this.txt.length()
+                && Character.isHighSurrogate(this.txt.charAt(end - 1))) {
+                end -= 1;
+            }
+            chunks.add(this.txt.substring(pos, end));
+            pos = end;
+        }
+        return chunks;
+    }
+}
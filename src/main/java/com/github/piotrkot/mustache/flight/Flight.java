@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.flight;
+
+/**
+ * Recorder of template work. There is no Java Flight Recorder on Java 8,
+ * so spans record nothing. Java 11 version of the class records events.
+ *
+ * @since 1.4
+ */
+public final class Flight {
+    /**
+     * Span recording nothing.
+     */
+    private final Span idle;
+
+    /**
+     * Constructor.
+     */
+    public Flight() {
+        this.idle = new Idle();
+    }
+
+    /**
+     * Span of template compilation.
+     * @param template Template identity.
+     * @return Span ended with characters of content.
+     */
+    public Span compilation(final String template) {
+        return this.idle;
+    }
+
+    /**
+     * Span of template render.
+     * @param template Template identity.
+     * @return Span ended with characters of output.
+     */
+    public Span render(final String template) {
+        return this.idle;
+    }
+
+    /**
+     * Span of section iterations.
+     * @param section Section name.
+     * @return Span ended with number of items.
+     */
+    public Span section(final String section) {
+        return this.idle;
+    }
+
+    /**
+     * Span of template file read.
+     * @param path Template file.
+     * @return Span ended with characters read.
+     */
+    public Span read(final String path) {
+        return this.idle;
+    }
+}
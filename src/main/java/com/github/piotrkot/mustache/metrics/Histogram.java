@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative values in buckets of powers of two. Bucket
+ * {@code n} counts values below {@code 2^n} and not below
+ * {@code 2^(n-1)}, so quantiles are exact within a factor of two.
+ *
+ * @since 1.4
+ */
+public final class Histogram {
+    /**
+     * Number of buckets.
+     */
+    private static final int SIZE = 64;
+
+    /**
+     * Counts of values by bucket.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * Sum of values.
+     */
+    private final LongAdder total;
+
+    /**
+     * Largest value.
+     */
+    private final LongAccumulator largest;
+
+    /**
+     * Constructor.
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(Histogram.SIZE);
+        this.total = new LongAdder();
+        this.largest = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Adds value.
+     * @param value Value, negative taken as zero.
+     */
+    public void add(final long value) {
+        final long positive = Math.max(0, value);
+        this.counts.incrementAndGet(
+            Math.min(
+                Histogram.SIZE - 1,
+                Long.SIZE - Long.numberOfLeadingZeros(positive)
+            )
+        );
+        this.total.add(positive);
+        this.largest.accumulate(positive);
+    }
+
+    /**
+     * Number of values.
+     * @return Count.
+     */
+    public long count() {
+        long count = 0;
+        for (int idx = 0; idx < Histogram.SIZE; idx += 1) {
+            count += this.counts.get(idx);
+        }
+        return count;
+    }
+
+    /**
+     * Sum of values.
+     * @return Sum.
+     */
+    public long sum() {
+        return this.total.sum();
+    }
+
+    /**
+     * Largest value.
+     * @return Largest value, zero if none.
+     */
+    public long max() {
+        return this.largest.get();
+    }
+
+    /**
+     * Upper bound of quantile of values.
+     * @param quantile Quantile, from 0 to 1.
+     * @return Upper bound of bucket holding the quantile, zero if none.
+     */
+    public long quantile(final double quantile) {
+        final long[] buckets = this.buckets();
+        long count = 0;
+        for (final long bucket : buckets) {
+            count += bucket;
+        }
+        final double rank = Math.ceil(quantile * count);
+        long seen = 0;
+        int idx = -1;
+        while (count > 0
+            && (idx < 0 || seen < rank || buckets[idx] == 0)) {
+            idx += 1;
+            seen += buckets[idx];
+        }
+        final long bound;
+        if (idx < 0) {
+            bound = 0;
+        } else {
+            bound = Math.min(this.max(), (1L << idx) - 1);
+        }
+        return bound;
+    }
+
+    /**
+     * Counts of values by bucket.
+     * @return Counts, bucket {@code n} holds values below {@code 2^n}.
+     */
+    public long[] buckets() {
+        final long[] buckets = new long[Histogram.SIZE];
+        for (int idx = 0; idx < Histogram.SIZE; idx += 1) {
+            buckets[idx] = this.counts.get(idx);
+        }
+        return buckets;
+    }
+}
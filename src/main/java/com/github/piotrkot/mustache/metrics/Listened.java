@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.metrics;
+
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.RenderListener;
+import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Target;
+import com.github.piotrkot.mustache.nodes.Keyed;
+import com.github.piotrkot.mustache.nodes.Slot;
+import java.util.List;
+
+/**
+ * Compilation into nodes reporting to listener variable substitutions,
+ * section iterations, partial renders and names not found. With silent
+ * listener nodes of the origin are returned as they are.
+ *
+ * @since 1.4
+ */
+public final class Listened implements Target<Node> {
+    /**
+     * Origin.
+     */
+    private final Target<Node> origin;
+
+    /**
+     * Listener.
+     */
+    private final RenderListener listener;
+
+    /**
+     * Whether listener is silent.
+     */
+    private final boolean silent;
+
+    /**
+     * Constructor.
+     * @param target Origin.
+     * @param listen Listener.
+     */
+    public Listened(final Target<Node> target, final RenderListener listen) {
+        this.origin = target;
+        this.listener = listen;
+        this.silent = listen instanceof Silent;
+    }
+
+    @Override
+    public Node text(final String text) {
+        return this.origin.text(text);
+    }
+
+    @Override
+    public Node variable(final String name) {
+        return this.noted(
+            name, this.origin.variable(name), this.listener::substituted
+        );
+    }
+
+    @Override
+    public Node section(final String name, final Node body) {
+        final Node node;
+        if (this.silent) {
+            node = this.origin.section(name, body);
+        } else {
+            node = this.noted(
+                name,
+                this.origin.section(
+                    name,
+                    (pairs, output) -> {
+                        this.listener.iterated();
+                        body.render(pairs, output);
+                    }
+                ),
+                () -> { }
+            );
+        }
+        return node;
+    }
+
+    @Override
+    public Node invSection(final String name, final Node body) {
+        return this.noted(name, this.origin.invSection(name, body), () -> { });
+    }
+
+    @Override
+    public Node partial(final TagIndicate indicate, final String name) {
+        return this.noted(
+            name, this.origin.partial(indicate, name), this.listener::loaded
+        );
+    }
+
+    @Override
+    public Node sequence(final List<Node> items) {
+        return this.origin.sequence(items);
+    }
+
+    /**
+     * Node reporting whether its name is found.
+     * @param name Tag name.
+     * @param node Node.
+     * @param found Report of name found.
+     * @return Node.
+     */
+    private Node noted(final String name, final Node node,
+        final Runnable found) {
+        final Node noted;
+        if (this.silent) {
+            noted = node;
+        } else if (node instanceof Keyed) {
+            noted = this.looked((Keyed) node, found);
+        } else {
+            final Slot key = new Slot(name);
+            noted = (pairs, output) -> {
+                this.report(name, key.has(pairs), found);
+                node.render(pairs, output);
+            };
+        }
+        return noted;
+    }
+
+    /**
+     * Node rendering value of its own lookup, reported whether found.
+     * @param node Node.
+     * @param found Report of name found.
+     * @return Node.
+     */
+    private Node looked(final Keyed node, final Runnable found) {
+        return (pairs, output) -> {
+            final Object value = node.slot().found(pairs);
+            this.report(
+                node.slot().name(), !Slot.ABSENT.equals(value), found
+            );
+            node.render(value, pairs, output);
+        };
+    }
+
+    /**
+     * Reports name found or missing.
+     * @param name Tag name.
+     * @param has Whether name is found.
+     * @param found Report of name found.
+     */
+    private void report(final String name, final boolean has,
+        final Runnable found) {
+        if (has) {
+            found.run();
+        } else {
+            this.listener.missing(name);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.metrics;
+
+import com.github.piotrkot.mustache.RenderListener;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory metrics of templates by their names, ready to be scraped and
+ * exported.
+ *
+ * @since 1.4
+ */
+public final class Metrics {
+    /**
+     * Metrics by template name.
+     */
+    private final ConcurrentMap<String, Stats> templates;
+
+    /**
+     * Constructor.
+     */
+    public Metrics() {
+        this.templates = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Listener of template, recording its metrics.
+     * @param template Template name.
+     * @return Listener.
+     */
+    public RenderListener listener(final String template) {
+        return this.templates.computeIfAbsent(template, name -> new Stats());
+    }
+
+    /**
+     * Metrics of templates by their names.
+     * @return Metrics.
+     */
+    public Map<String, Stats> stats() {
+        return Collections.unmodifiableMap(new TreeMap<>(this.templates));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.metrics;
+
+import com.github.piotrkot.mustache.RenderListener;
+
+/**
+ * Listener ignoring everything. Templates with it are neither timed nor
+ * have their nodes observed, so it costs nothing.
+ *
+ * @since 1.4
+ */
+public final class Silent implements RenderListener {
+    @Override
+    public void compiled(final long nanos) {
+        // Nothing to do.
+    }
+
+    @Override
+    public void rendered(final long nanos, final long chars) {
+        // Nothing to do.
+    }
+
+    @Override
+    public void substituted() {
+        // Nothing to do.
+    }
+
+    @Override
+    public void iterated() {
+        // Nothing to do.
+    }
+
+    @Override
+    public void loaded() {
+        // Nothing to do.
+    }
+
+    @Override
+    public void missing(final String name) {
+        // Nothing to do.
+    }
+}
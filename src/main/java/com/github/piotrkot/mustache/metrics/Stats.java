@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.metrics;
+
+import com.github.piotrkot.mustache.RenderListener;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one template, kept in memory. Times and output sizes are
+ * histograms, tags are counted.
+ *
+ * @since 1.4
+ */
+public final class Stats implements RenderListener {
+    /**
+     * Compilation times, in nanoseconds.
+     */
+    private final Histogram compilation;
+
+    /**
+     * Render times, in nanoseconds.
+     */
+    private final Histogram render;
+
+    /**
+     * Output sizes, in characters.
+     */
+    private final Histogram output;
+
+    /**
+     * Variable substitutions.
+     */
+    private final LongAdder variables;
+
+    /**
+     * Section iterations.
+     */
+    private final LongAdder iterations;
+
+    /**
+     * Partial renders.
+     */
+    private final LongAdder partials;
+
+    /**
+     * Lookups of names not found, by name.
+     */
+    private final ConcurrentMap<String, LongAdder> misses;
+
+    /**
+     * Constructor.
+     */
+    public Stats() {
+        this.compilation = new Histogram();
+        this.render = new Histogram();
+        this.output = new Histogram();
+        this.variables = new LongAdder();
+        this.iterations = new LongAdder();
+        this.partials = new LongAdder();
+        this.misses = new ConcurrentHashMap<>(0);
+    }
+
+    @Override
+    public void compiled(final long nanos) {
+        this.compilation.add(nanos);
+    }
+
+    @Override
+    public void rendered(final long nanos, final long chars) {
+        this.render.add(nanos);
+        this.output.add(chars);
+    }
+
+    @Override
+    public void substituted() {
+        this.variables.increment();
+    }
+
+    @Override
+    public void iterated() {
+        this.iterations.increment();
+    }
+
+    @Override
+    public void loaded() {
+        this.partials.increment();
+    }
+
+    @Override
+    public void missing(final String name) {
+        this.misses.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Histograms by name: {@code compile.nanos}, {@code render.nanos} and
+     * {@code output.chars}.
+     * @return Histograms.
+     */
+    public Map<String, Histogram> histograms() {
+        final Map<String, Histogram> histograms = new LinkedHashMap<>(0);
+        histograms.put("compile.nanos", this.compilation);
+        histograms.put("render.nanos", this.render);
+        histograms.put("output.chars", this.output);
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Counters by name: {@code variables}, {@code iterations},
+     * {@code partials}, {@code missing} and {@code missing.<name>} for every
+     * name not found.
+     * @return Counters.
+     */
+    public Map<String, Long> counters() {
+        final Map<String, Long> counters = new LinkedHashMap<>(0);
+        counters.put("variables", this.variables.sum());
+        counters.put("iterations", this.iterations.sum());
+        counters.put("partials", this.partials.sum());
+        final Map<String, Long> missing = new TreeMap<>();
+        long total = 0;
+        for (final Map.Entry<String, LongAdder> miss : this.misses.entrySet()) {
+            final long count = miss.getValue().sum();
+            missing.put(String.format("missing.%s", miss.getKey()), count);
+            total += count;
+        }
+        counters.put("missing", total);
+        counters.putAll(missing);
+        return Collections.unmodifiableMap(counters);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Accessors of properties of a class. Property {@code name} is read by
+ * method {@code name()}, as of records, {@code getName()}, {@code isName()}
+ * or public field {@code name}. Accessor is resolved once for every name
+ * into a method handle, so reading a property uses no reflection.
+ * Members of classes not public which cannot be made accessible, like of
+ * modules not open, are not readable.
+ * @since 1.4
+ */
+final class Accessors {
+    /**
+     * Accessors by class.
+     */
+    private static final ClassValue<Accessors> CACHE =
+        new ClassValue<Accessors>() {
+            @Override
+            protected Accessors computeValue(final Class<?> type) {
+                return new Accessors(type);
+            }
+        };
+
+    /**
+     * Type of accessor handles.
+     */
+    private static final MethodType TYPE =
+        MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Class.
+     */
+    private final Class<?> type;
+
+    /**
+     * Accessors by property name.
+     */
+    private final ConcurrentMap<String, Optional<MethodHandle>> handles;
+
+    /**
+     * Constructor.
+     * @param cls Class.
+     */
+    private Accessors(final Class<?> cls) {
+        this.type = cls;
+        this.handles = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Accessor of property.
+     * @param name Property name.
+     * @return Handle taking object and returning property value.
+     */
+    public Optional<MethodHandle> handle(final String name) {
+        return this.handles.computeIfAbsent(name, this::resolve);
+    }
+
+    /**
+     * Names of all readable properties.
+     * @return Names.
+     */
+    public List<String> names() {
+        final List<String> names = new ArrayList<>(0);
+        for (final Method method : this.type.getMethods()) {
+            final String name = Accessors.property(method.getName());
+            if (method.getParameterCount() == 0
+                && this.handle(name).isPresent()) {
+                names.add(name);
+            }
+        }
+        for (final Field field : this.type.getFields()) {
+            if (this.handle(field.getName()).isPresent()) {
+                names.add(field.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Accessors of class.
+     * @param cls Class.
+     * @return Accessors.
+     */
+    static Accessors cached(final Class<?> cls) {
+        return Accessors.CACHE.get(cls);
+    }
+
+    /**
+     * Resolves accessor of property.
+     * @param name Property name.
+     * @return Handle or empty if there is no accessor.
+     */
+    private Optional<MethodHandle> resolve(final String name) {
+        Optional<MethodHandle> handle = Optional.empty();
+        if (!name.isEmpty()) {
+            final String cap = String.join(
+                "", name.substring(0, 1).toUpperCase(Locale.ENGLISH),
+                name.substring(1)
+            );
+            final String[] methods = {
+                name, String.join("", "get", cap), String.join("", "is", cap),
+            };
+            for (final String method : methods) {
+                if (!handle.isPresent()) {
+                    handle = this.method(method);
+                }
+            }
+            if (!handle.isPresent()) {
+                handle = this.field(name);
+            }
+        }
+        return handle;
+    }
+
+    /**
+     * Handle of public no argument method returning value.
+     * @param name Method name.
+     * @return Handle or empty.
+     */
+    private Optional<MethodHandle> method(final String name) {
+        Optional<MethodHandle> handle = Optional.empty();
+        try {
+            final Method method = this.type.getMethod(name);
+            if (method.getReturnType() != void.class
+                && method.getDeclaringClass() != Object.class
+                && !Modifier.isStatic(method.getModifiers())
+                && Accessors.accessible(method, method.getDeclaringClass())) {
+                handle = Optional.of(
+                    MethodHandles.lookup().unreflect(method)
+                        .asType(Accessors.TYPE)
+                );
+            }
+        } catch (final NoSuchMethodException | IllegalAccessException ex) {
+            handle = Optional.empty();
+        }
+        return handle;
+    }
+
+    /**
+     * Handle of public field.
+     * @param name Field name.
+     * @return Handle or empty.
+     */
+    private Optional<MethodHandle> field(final String name) {
+        Optional<MethodHandle> handle = Optional.empty();
+        try {
+            final Field field = this.type.getField(name);
+            if (!Modifier.isStatic(field.getModifiers())
+                && Accessors.accessible(field, field.getDeclaringClass())) {
+                handle = Optional.of(
+                    MethodHandles.lookup().unreflectGetter(field)
+                        .asType(Accessors.TYPE)
+                );
+            }
+        } catch (final NoSuchFieldException | IllegalAccessException ex) {
+            handle = Optional.empty();
+        }
+        return handle;
+    }
+
+    /**
+     * Whether public member can be read, made accessible if its class is
+     * not public.
+     * @param member Member.
+     * @param owner Class declaring the member.
+     * @return True if accessible.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static boolean accessible(final AccessibleObject member,
+        final Class<?> owner) {
+        boolean accessible = true;
+        if (!Modifier.isPublic(owner.getModifiers())) {
+            try {
+                member.setAccessible(true);
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                accessible = false;
+            }
+        }
+        return accessible;
+    }
+
+    /**
+     * Property name read by method.
+     * @param method Method name.
+     * @return Property name.
+     */
+    private static String property(final String method) {
+        String name = method;
+        if (method.startsWith("get") && method.length() > 3) {
+            name = Accessors.uncap(method.substring(3));
+        } else if (method.startsWith("is") && method.length() > 2) {
+            name = Accessors.uncap(method.substring(2));
+        }
+        return name;
+    }
+
+    /**
+     * Name with lower case first letter.
+     * @param name Name.
+     * @return Name.
+     */
+    private static String uncap(final String name) {
+        return String.join(
+            "", name.substring(0, 1).toLowerCase(Locale.ENGLISH),
+            name.substring(1)
+        );
+    }
+}
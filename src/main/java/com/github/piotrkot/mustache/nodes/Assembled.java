@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sequence of nodes rendered by one node compiled of them, keeping the
+ * nodes to render them apart, like {@link Async} does.
+ * @since 1.4
+ */
+public final class Assembled implements Node {
+    /**
+     * Node compiled of the sequence.
+     */
+    private final Node compiled;
+
+    /**
+     * Sequence of nodes.
+     */
+    private final List<Node> seq;
+
+    /**
+     * Constructor.
+     * @param node Node compiled of the sequence.
+     * @param nodes Sequence of nodes.
+     */
+    public Assembled(final Node node, final List<Node> nodes) {
+        this.compiled = node;
+        this.seq = new ArrayList<>(nodes);
+    }
+
+    @Override
+    public void render(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        this.compiled.render(pairs, output);
+    }
+
+    /**
+     * Nodes of the sequence.
+     * @return Nodes.
+     */
+    List<Node> items() {
+        return this.seq;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Render waiting for values given as
+ * {@link java.util.concurrent.CompletionStage} without blocking any thread.
+ * Template is split into fragments, each rendered as soon as values it
+ * references are completed, and fragments are assembled in template order.
+ * Fragment render records all values not completed yet and is tried again
+ * once all of them complete.
+ * @since 1.4
+ */
+public final class Async {
+    /**
+     * Root node.
+     */
+    private final Node root;
+
+    /**
+     * Constructor.
+     * @param node Root node.
+     */
+    public Async(final Node node) {
+        this.root = node;
+    }
+
+    /**
+     * Supply template with pairs.
+     * @param pairs Pairs.
+     * @return Future output.
+     */
+    public CompletableFuture<String> supply(
+        final Map<CharSequence, Object> pairs) {
+        final Map<CharSequence, Object> memo = new Memo(pairs);
+        final List<CompletableFuture<String>> parts = new ArrayList<>(0);
+        for (final Node node : Async.fragments(this.root)) {
+            final CompletableFuture<String> part = new CompletableFuture<>();
+            new Async.Attempt(node, memo, part).run();
+            parts.add(part);
+        }
+        return CompletableFuture.allOf(
+            parts.toArray(new CompletableFuture<?>[0])
+        ).thenApply(
+            none -> {
+                final StringBuilder output = new StringBuilder();
+                for (final CompletableFuture<String> part : parts) {
+                    output.append(part.join());
+                }
+                return output.toString();
+            }
+        );
+    }
+
+    /**
+     * Fragments of template rendered independently.
+     * @param node Root node.
+     * @return Fragments.
+     */
+    private static List<Node> fragments(final Node node) {
+        final List<Node> fragments;
+        if (node instanceof Nodes) {
+            fragments = ((Nodes) node).items();
+        } else if (node instanceof Assembled) {
+            fragments = new ArrayList<>(0);
+            for (final Node item : ((Assembled) node).items()) {
+                fragments.addAll(Async.fragments(item));
+            }
+        } else {
+            fragments = Collections.singletonList(node);
+        }
+        return fragments;
+    }
+
+    /**
+     * Render of fragment, tried again until values it references are
+     * completed.
+     * @since 1.4
+     */
+    private static final class Attempt implements Runnable {
+        /**
+         * Fragment.
+         */
+        private final Node node;
+
+        /**
+         * Pairs.
+         */
+        private final Map<CharSequence, Object> pairs;
+
+        /**
+         * Output of fragment.
+         */
+        private final CompletableFuture<String> result;
+
+        /**
+         * Constructor.
+         * @param fragment Fragment.
+         * @param memo Pairs.
+         * @param output Output of fragment.
+         */
+        Attempt(final Node fragment, final Map<CharSequence, Object> memo,
+            final CompletableFuture<String> output) {
+            this.node = fragment;
+            this.pairs = memo;
+            this.result = output;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public void run() {
+            final StringBuilder output = new StringBuilder();
+            final List<CompletionStage<?>> stages = Pending.probe();
+            try {
+                this.node.render(this.pairs, output);
+            } catch (final Pending ex) {
+                stages.add(ex.stage());
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final IOException | RuntimeException ex) {
+                this.result.completeExceptionally(ex);
+            } finally {
+                Pending.unprobe();
+            }
+            if (stages.isEmpty()) {
+                this.result.complete(output.toString());
+            } else if (!this.result.isDone()) {
+                final CompletableFuture<?>[] awaited =
+                    new CompletableFuture<?>[stages.size()];
+                for (int idx = 0; idx < awaited.length; ++idx) {
+                    awaited[idx] = stages.get(idx).toCompletableFuture();
+                }
+                CompletableFuture.allOf(awaited).whenComplete(
+                    (value, error) -> this.run()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.lang.invoke.MethodHandle;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Object seen as pairs of its properties, like bean or record.
+ * @since 1.4
+ */
+final class Bean extends AbstractMap<CharSequence, Object> {
+    /**
+     * Packages of Java platform.
+     */
+    private static final String[] PLATFORM = {
+        "java.", "javax.", "jdk.", "sun.", "com.sun.",
+    };
+
+    /**
+     * Object.
+     */
+    private final Object object;
+
+    /**
+     * Accessors of object properties.
+     */
+    private final Accessors accessors;
+
+    /**
+     * Constructor.
+     * @param obj Object.
+     */
+    Bean(final Object obj) {
+        super();
+        this.object = obj;
+        this.accessors = Accessors.cached(obj.getClass());
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.accessors.handle(String.valueOf(key)).isPresent();
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final Optional<MethodHandle> handle =
+            this.accessors.handle(String.valueOf(key));
+        Object value = null;
+        if (handle.isPresent()) {
+            value = Bean.invoke(handle.get(), this.object);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public Set<Map.Entry<CharSequence, Object>> entrySet() {
+        final Map<CharSequence, Object> entries = new LinkedHashMap<>(0);
+        for (final String name : this.accessors.names()) {
+            entries.put(name, this.get(name));
+        }
+        return entries.entrySet();
+    }
+
+    /**
+     * Whether value is an object with properties, which is not a map,
+     * iterable nor a class of Java platform.
+     * @param value Value.
+     * @return True if properties of value can be read.
+     */
+    static boolean applies(final Object value) {
+        return value != null
+            && !(value instanceof Map || value instanceof Iterable)
+            && Bean.custom(value.getClass());
+    }
+
+    /**
+     * Reads property.
+     * @param handle Accessor.
+     * @param obj Object.
+     * @return Value.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    static Object invoke(final MethodHandle handle, final Object obj) {
+        try {
+            return (Object) handle.invokeExact(obj);
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Whether class is neither array nor class of Java platform, loaded by
+     * bootstrap loader or named in a package of the platform.
+     * @param cls Class.
+     * @return True if custom.
+     */
+    private static boolean custom(final Class<?> cls) {
+        boolean custom = !cls.isArray() && cls.getClassLoader() != null;
+        for (final String pkg : Bean.PLATFORM) {
+            custom = custom && !cls.getName().startsWith(pkg);
+        }
+        return custom;
+    }
+}
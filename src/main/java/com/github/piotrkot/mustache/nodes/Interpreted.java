@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Target;
+import java.util.List;
+
+/**
+ * Compilation into nodes which are interpreted on render.
+ * @since 1.4
+ */
+public final class Interpreted implements Target<Node> {
+    /**
+     * Cache of partial contents.
+     */
+    private final Partials partials;
+
+    /**
+     * Render of section items.
+     */
+    private final Parallel sections;
+
+    /**
+     * Constructor.
+     */
+    public Interpreted() {
+        this(new Partials());
+    }
+
+    /**
+     * Constructor.
+     * @param cache Cache of partial contents, may be shared by templates.
+     */
+    public Interpreted(final Partials cache) {
+        this(cache, new Parallel());
+    }
+
+    /**
+     * Constructor.
+     * @param cache Cache of partial contents, may be shared by templates.
+     * @param parallel Render of section items, in parallel above threshold.
+     */
+    public Interpreted(final Partials cache, final Parallel parallel) {
+        this.partials = cache;
+        this.sections = parallel;
+    }
+
+    @Override
+    public Node text(final String text) {
+        return new StaticText(text);
+    }
+
+    @Override
+    public Node variable(final String name) {
+        return new VariableNode(name);
+    }
+
+    @Override
+    public Node section(final String name, final Node body) {
+        return new SectionNode(name, body, this.sections);
+    }
+
+    @Override
+    public Node invSection(final String name, final Node body) {
+        return new InvSectionNode(name, body);
+    }
+
+    @Override
+    public Node partial(final TagIndicate indicate, final String name) {
+        return new PartialNode(indicate, name, this.partials, this);
+    }
+
+    @Override
+    public Node sequence(final List<Node> items) {
+        return new Nodes(items);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Inverted section node. Renders its body once but in condition inverted
+ * to section condition.
+ * @since 1.4
+ */
+public final class InvSectionNode implements Keyed {
+    /**
+     * Section name.
+     */
+    private final Slot key;
+
+    /**
+     * Section body.
+     */
+    private final Node body;
+
+    /**
+     * Constructor.
+     * @param name Section name.
+     * @param node Section body.
+     */
+    public InvSectionNode(final String name, final Node node) {
+        this.key = new Slot(name);
+        this.body = node;
+    }
+
+    @Override
+    public void render(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        this.render(this.key.found(pairs), pairs, output);
+    }
+
+    @Override
+    public void render(final Object value,
+        final Map<CharSequence, Object> pairs, final Appendable output)
+        throws IOException {
+        if (!Slot.ABSENT.equals(value) && InvSectionNode.allowed(value)) {
+            this.body.render(pairs, output);
+        }
+    }
+
+    @Override
+    public Slot slot() {
+        return this.key;
+    }
+
+    /**
+     * Whether value is empty or false.
+     * @param value Object value.
+     * @return True if section should be rendered.
+     */
+    private static boolean allowed(final Object value) {
+        final boolean allowed;
+        if (value instanceof Collection) {
+            allowed = ((Collection<?>) value).isEmpty();
+        } else if (value instanceof Iterable) {
+            allowed = !((Iterable<?>) value).iterator().hasNext();
+        } else {
+            allowed = Boolean.FALSE.toString().equals(String.valueOf(value));
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Node rendering value of its tag name. Value may be looked up by caller,
+ * like by a listener noting whether the name is found, so the lookup is
+ * not repeated by the node.
+ * @since 1.4
+ */
+public interface Keyed extends Node {
+    /**
+     * Tag name looked up.
+     * @return Slot of the name.
+     */
+    Slot slot();
+
+    /**
+     * Renders node with value of its name.
+     * @param value Value or {@link Slot#ABSENT} if not found.
+     * @param pairs Variables.
+     * @param output Output.
+     * @throws IOException When fails.
+     */
+    void render(Object value, Map<CharSequence, Object> pairs,
+        Appendable output) throws IOException;
+}
@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pairs of section item layered over pairs of enclosing context. Lookups
+ * check the item first and then the enclosing context, so layering costs
+ * the same however many pairs are there. Names the item does not have are
+ * looked up by {@link Slot} in the enclosing context directly, by slot if it
+ * is a {@link com.github.piotrkot.mustache.Context}. Entries are merged only
+ * when iterated. Lazy values of the item are computed once a render.
+ * @since 1.4
+ */
+final class Layered extends AbstractMap<CharSequence, Object> {
+    /**
+     * Enclosing context.
+     */
+    private final Map<CharSequence, Object> parent;
+
+    /**
+     * Pairs of section item.
+     */
+    private final Map<?, ?> item;
+
+    /**
+     * Computed values by lazy values, shared with enclosing context.
+     */
+    private final ConcurrentMap<Object, CompletableFuture<Object>> table;
+
+    /**
+     * Constructor.
+     * @param context Enclosing context.
+     * @param pairs Pairs of section item.
+     */
+    Layered(final Map<CharSequence, Object> context, final Map<?, ?> pairs) {
+        super();
+        this.parent = context;
+        this.item = pairs;
+        this.table = Memo.shared(context);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.item.containsKey(key) || this.parent.containsKey(key);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final Object value;
+        if (this.item.containsKey(key)) {
+            value = Memo.remembered(this.table, this.item.get(key));
+        } else {
+            value = this.parent.get(key);
+        }
+        return value;
+    }
+
+    @Override
+    public Set<Entry<CharSequence, Object>> entrySet() {
+        final Map<CharSequence, Object> merged = new HashMap<>(this.parent);
+        for (final Map.Entry<?, ?> entry : this.item.entrySet()) {
+            merged.put(entry.getKey().toString(), entry.getValue());
+        }
+        return merged.entrySet();
+    }
+
+    /**
+     * Pairs the name is looked up in. Layers of items not having the name
+     * are skipped, so names of enclosing context are found by its slots.
+     * @param pairs Pairs.
+     * @param name Tag name.
+     * @return Layer having the name or enclosing pairs.
+     */
+    static Map<CharSequence, Object> scope(
+        final Map<CharSequence, Object> pairs, final String name) {
+        Map<CharSequence, Object> scope = pairs;
+        while (scope instanceof Layered
+            && !((Layered) scope).item.containsKey(name)) {
+            scope = ((Layered) scope).parent;
+        }
+        return scope;
+    }
+
+    /**
+     * Computed values by lazy values.
+     * @return Computed values shared within the render.
+     */
+    ConcurrentMap<Object, CompletableFuture<Object>> computed() {
+        return this.table;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Value computed on first reference, given as {@link Supplier} or
+ * {@link Callable}, or completed later, given as {@link CompletionStage}.
+ * @since 1.4
+ */
+final class Lazy {
+    /**
+     * Constructor.
+     */
+    private Lazy() {
+    }
+
+    /**
+     * Whether value is computed on reference.
+     * @param value Value.
+     * @return True if lazy.
+     */
+    static boolean applies(final Object value) {
+        return value instanceof Supplier || value instanceof Callable
+            || value instanceof CompletionStage;
+    }
+
+    /**
+     * Computed value.
+     * @param value Value, lazy or not.
+     * @return Computed value or the value itself if not lazy.
+     * @throws Pending If value is not completed yet.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    static Object evaluate(final Object value) {
+        Object result = value;
+        if (value instanceof Supplier) {
+            result = ((Supplier<?>) value).get();
+        } else if (value instanceof Callable) {
+            try {
+                result = ((Callable<?>) value).call();
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        } else if (value instanceof CompletionStage) {
+            result = Lazy.completed((CompletionStage<?>) value);
+        }
+        return result;
+    }
+
+    /**
+     * Value of completed stage, never waiting for it.
+     * @param stage Stage.
+     * @return Value.
+     * @throws Pending If stage is not completed yet.
+     */
+    private static Object completed(final CompletionStage<?> stage) {
+        final CompletableFuture<?> future = stage.toCompletableFuture();
+        if (!future.isDone()) {
+            throw new Pending(future);
+        }
+        return future.join();
+    }
+}
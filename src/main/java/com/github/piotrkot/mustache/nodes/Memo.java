@@ -0,0 +1,246 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pairs of one render with lazy values, given as
+ * {@link java.util.function.Supplier} or {@link java.util.concurrent.Callable},
+ * computed on first reference and remembered for the rest of the render.
+ * Values never referenced are never computed. Lazy values are computed
+ * outside of any lock, so threads of one render wait only for the values
+ * they reference. Memo may be reused by renders of one thread, one after
+ * another.
+ * @since 1.4
+ */
+public final class Memo extends AbstractMap<CharSequence, Object> {
+    /**
+     * Pairs.
+     */
+    private Map<CharSequence, Object> pairs;
+
+    /**
+     * Computed values by lazy values.
+     */
+    private final ConcurrentMap<Object, CompletableFuture<Object>> results;
+
+    /**
+     * Constructor of memo for reuse.
+     */
+    public Memo() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Constructor.
+     * @param pairs Pairs.
+     */
+    public Memo(final Map<CharSequence, Object> pairs) {
+        super();
+        this.pairs = pairs;
+        this.results = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Memo of next render, forgetting values of previous one.
+     * @param next Pairs of next render.
+     * @return This memo.
+     */
+    public Memo over(final Map<CharSequence, Object> next) {
+        this.pairs = next;
+        if (!this.results.isEmpty()) {
+            this.results.clear();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.pairs.containsKey(key);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        return Memo.remembered(this.results, this.pairs.get(key));
+    }
+
+    @Override
+    public Set<Map.Entry<CharSequence, Object>> entrySet() {
+        final Map<CharSequence, Object> entries = new LinkedHashMap<>(0);
+        for (final CharSequence key : this.pairs.keySet()) {
+            entries.put(key, this.get(key));
+        }
+        return entries.entrySet();
+    }
+
+    /**
+     * Pairs looked up in, unwrapped from memo.
+     * @param pairs Pairs.
+     * @return Pairs memo is over, or pairs as they are.
+     */
+    static Map<CharSequence, Object> unwrapped(
+        final Map<CharSequence, Object> pairs) {
+        final Map<CharSequence, Object> origin;
+        if (pairs instanceof Memo) {
+            origin = ((Memo) pairs).pairs;
+        } else {
+            origin = pairs;
+        }
+        return origin;
+    }
+
+    /**
+     * Computed values shared by all pairs of a render.
+     * @param pairs Enclosing pairs.
+     * @return Computed values by lazy values.
+     */
+    static ConcurrentMap<Object, CompletableFuture<Object>> shared(
+        final Map<?, ?> pairs) {
+        final ConcurrentMap<Object, CompletableFuture<Object>> shared;
+        if (pairs instanceof Memo) {
+            shared = ((Memo) pairs).results;
+        } else if (pairs instanceof Layered) {
+            shared = ((Layered) pairs).computed();
+        } else {
+            shared = new ConcurrentHashMap<>(0);
+        }
+        return shared;
+    }
+
+    /**
+     * Value computed once a render of the pairs if lazy.
+     * @param pairs Pairs of the render.
+     * @param value Value, lazy or not.
+     * @return Value.
+     */
+    static Object computed(final Map<?, ?> pairs, final Object value) {
+        Object result = value;
+        if (Lazy.applies(value)) {
+            result = Memo.remembered(Memo.shared(pairs), value);
+        }
+        return result;
+    }
+
+    /**
+     * Value computed once if lazy. The first thread referencing the value
+     * computes it, other threads wait for it. Failed computations are not
+     * remembered, like of stages not completed yet. Stage not completed
+     * while render probes is recorded and rendered as empty.
+     * @param computed Computed values by lazy values.
+     * @param value Value, lazy or not.
+     * @return Value.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    static Object remembered(
+        final ConcurrentMap<Object, CompletableFuture<Object>> computed,
+        final Object value) {
+        Object result = value;
+        if (Lazy.applies(value)) {
+            final Object key = new Memo.Identity(value);
+            final CompletableFuture<Object> fresh = new CompletableFuture<>();
+            final CompletableFuture<Object> known =
+                computed.putIfAbsent(key, fresh);
+            if (known == null) {
+                try {
+                    result = Lazy.evaluate(value);
+                    fresh.complete(result);
+                } catch (final Pending ex) {
+                    computed.remove(key, fresh);
+                    fresh.completeExceptionally(ex);
+                    result = ex.probed();
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Throwable ex) {
+                    computed.remove(key, fresh);
+                    fresh.completeExceptionally(ex);
+                    throw ex;
+                }
+            } else {
+                result = Memo.joined(known);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Value computed by other thread.
+     * @param future Computation.
+     * @return Value.
+     */
+    private static Object joined(final CompletableFuture<Object> future) {
+        Object result;
+        try {
+            result = future.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof Pending) {
+                result = ((Pending) ex.getCause()).probed();
+            } else if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            } else if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            } else {
+                throw ex;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lazy value compared by identity.
+     * @since 1.4
+     */
+    private static final class Identity {
+        /**
+         * Lazy value.
+         */
+        private final Object value;
+
+        /**
+         * Constructor.
+         * @param lazy Lazy value.
+         */
+        Identity(final Object lazy) {
+            this.value = lazy;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Memo.Identity
+                && ((Memo.Identity) other).value == this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.value);
+        }
+    }
+}
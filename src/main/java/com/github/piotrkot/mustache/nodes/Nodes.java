@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sequence of nodes rendered one after another.
+ * @since 1.4
+ */
+public final class Nodes implements Node {
+    /**
+     * Sequence of nodes.
+     */
+    private final Node[] seq;
+
+    /**
+     * Constructor.
+     * @param nodes Sequence of nodes.
+     */
+    public Nodes(final List<Node> nodes) {
+        this.seq = nodes.toArray(new Node[0]);
+    }
+
+    @Override
+    public void render(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        for (final Node node : this.seq) {
+            node.render(pairs, output);
+        }
+    }
+
+    /**
+     * Nodes of the sequence.
+     * @return Nodes.
+     */
+    List<Node> items() {
+        return Arrays.asList(this.seq);
+    }
+}
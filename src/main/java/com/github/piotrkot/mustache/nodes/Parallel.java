@@ -0,0 +1,305 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parallel render of sections with many items. Items above the threshold
+ * are split into chunks rendered on the executor into separate buffers,
+ * which are written in order, so output is the same as of sequential
+ * render. First chunk is rendered by the calling thread, which then renders
+ * every chunk not yet started by the executor itself, so render never waits
+ * for a saturated executor, also when called on a thread of the executor.
+ * Sections nested in chunks are sequential, so threads rendering chunks
+ * never wait for each other. Render is sequential with less than two
+ * threads or too few items for two chunks, where splitting is pure
+ * overhead.
+ * @since 1.4
+ */
+public final class Parallel {
+    /**
+     * Chunks for every available processor.
+     */
+    private static final int CHUNKS = 4;
+
+    /**
+     * Least number of items of a chunk, so small lists are not split into
+     * chunks costing more to hand over than to render.
+     */
+    private static final int LEAST = 32;
+
+    /**
+     * Whether thread renders chunk for executor.
+     */
+    private static final ThreadLocal<Boolean> WORKER =
+        ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Least number of items rendered in parallel.
+     */
+    private final int threshold;
+
+    /**
+     * Executor rendering chunks.
+     */
+    private final Executor executor;
+
+    /**
+     * Number of threads rendering chunks.
+     */
+    private final int threads;
+
+    /**
+     * Constructor of sequential render.
+     */
+    public Parallel() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     * @param items Least number of items rendered in parallel.
+     */
+    public Parallel(final int items) {
+        this(
+            items, ForkJoinPool.commonPool(),
+            ForkJoinPool.getCommonPoolParallelism()
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param items Least number of items rendered in parallel.
+     * @param exec Executor rendering chunks.
+     */
+    public Parallel(final int items, final Executor exec) {
+        this(items, exec, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor. Render is sequential with less than two threads.
+     * @param items Least number of items rendered in parallel.
+     * @param exec Executor rendering chunks.
+     * @param cores Number of threads rendering chunks.
+     */
+    public Parallel(final int items, final Executor exec, final int cores) {
+        this.threshold = items;
+        this.executor = exec;
+        this.threads = cores;
+    }
+
+    /**
+     * Renders body for every item.
+     * @param body Section body.
+     * @param context Enclosing context.
+     * @param items Items.
+     * @param output Output.
+     * @throws IOException When fails.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    void render(final Node body, final Map<CharSequence, Object> context,
+        final List<?> items, final Appendable output)
+        throws IOException {
+        if (items.size() < Math.max(this.threshold, Parallel.LEAST * 2)
+            || this.threads < 2 || Parallel.WORKER.get()) {
+            Parallel.chunk(body, context, items, output);
+        } else {
+            this.split(body, context, items, output);
+        }
+    }
+
+    /**
+     * Renders chunks of items in parallel and writes them in order.
+     * @param body Section body.
+     * @param context Enclosing context.
+     * @param items Items.
+     * @param output Output.
+     * @throws IOException When fails.
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private void split(final Node body, final Map<CharSequence, Object> context,
+        final List<?> items, final Appendable output)
+        throws IOException {
+        final int size = Math.max(
+            Parallel.LEAST, items.size() / (Parallel.CHUNKS * this.threads)
+        );
+        final List<Parallel.Chunk> chunks = new ArrayList<>(0);
+        boolean rejected = false;
+        for (int from = size; from < items.size(); from += size) {
+            final Parallel.Chunk chunk = new Parallel.Chunk(
+                body, context,
+                items.subList(from, Math.min(items.size(), from + size))
+            );
+            chunks.add(chunk);
+            if (!rejected) {
+                try {
+                    this.executor.execute(chunk);
+                } catch (final RejectedExecutionException ex) {
+                    rejected = true;
+                }
+            }
+        }
+        Parallel.chunk(body, context, items.subList(0, size), output);
+        try {
+            for (final Parallel.Chunk chunk : chunks) {
+                output.append(chunk.value());
+            }
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Chunk of items rendered into a buffer.
+     * @param body Section body.
+     * @param context Enclosing context.
+     * @param items Items.
+     * @return Rendered chunk.
+     */
+    private static CharSequence buffered(final Node body,
+        final Map<CharSequence, Object> context, final List<?> items) {
+        final StringBuilder buffer = new StringBuilder();
+        Parallel.WORKER.set(true);
+        try {
+            Parallel.chunk(body, context, items, buffer);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            Parallel.WORKER.set(false);
+        }
+        return buffer;
+    }
+
+    /**
+     * Renders chunk of items one after another.
+     * @param body Section body.
+     * @param context Enclosing context.
+     * @param items Items.
+     * @param output Output.
+     * @throws IOException When fails.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static void chunk(final Node body,
+        final Map<CharSequence, Object> context, final List<?> items,
+        final Appendable output) throws IOException {
+        for (final Object item : items) {
+            body.render(
+                SectionNode.context(context, SectionNode.map(item)), output
+            );
+        }
+    }
+
+    /**
+     * Chunk of items rendered once, by the executor or by the caller if
+     * the executor has not started it yet.
+     * @since 1.4
+     */
+    private static final class Chunk implements Runnable {
+        /**
+         * Section body.
+         */
+        private final Node body;
+
+        /**
+         * Enclosing context.
+         */
+        private final Map<CharSequence, Object> context;
+
+        /**
+         * Items.
+         */
+        private final List<?> items;
+
+        /**
+         * Whether render is started.
+         */
+        private final AtomicBoolean started;
+
+        /**
+         * Rendered chunk.
+         */
+        private final CompletableFuture<CharSequence> result;
+
+        /**
+         * Constructor.
+         * @param node Section body.
+         * @param pairs Enclosing context.
+         * @param part Items.
+         */
+        Chunk(final Node node, final Map<CharSequence, Object> pairs,
+            final List<?> part) {
+            this.body = node;
+            this.context = pairs;
+            this.items = part;
+            this.started = new AtomicBoolean();
+            this.result = new CompletableFuture<>();
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")
+        public void run() {
+            if (this.started.compareAndSet(false, true)) {
+                try {
+                    this.result.complete(
+                        Parallel.buffered(this.body, this.context, this.items)
+                    );
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final Throwable ex) {
+                    this.result.completeExceptionally(ex);
+                }
+            }
+        }
+
+        /**
+         * Rendered chunk, rendered by calling thread if not started.
+         * @return Rendered chunk.
+         */
+        CharSequence value() {
+            this.run();
+            return this.result.join();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Target;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Partial node. Renders text at runtime based on file injection. Partials
+ * within the injected content are not rendered to avoid infinite loops.
+ * @since 1.4
+ */
+public final class PartialNode implements Keyed {
+    /**
+     * Indicate.
+     */
+    private final TagIndicate indic;
+
+    /**
+     * Partial name.
+     */
+    private final Slot key;
+
+    /**
+     * Cache of partial contents.
+     */
+    private final Partials cache;
+
+    /**
+     * Compilation target of partial contents.
+     */
+    private final Target<Node> target;
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param name Partial name.
+     */
+    public PartialNode(final TagIndicate indicate, final String name) {
+        this(indicate, name, new Partials());
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param name Partial name.
+     * @param partials Cache of partial contents.
+     */
+    public PartialNode(final TagIndicate indicate, final String name,
+        final Partials partials) {
+        this(indicate, name, partials, new Interpreted(partials));
+    }
+
+    /**
+     * Constructor.
+     * @param indicate Indicate.
+     * @param name Partial name.
+     * @param partials Cache of partial contents.
+     * @param parent Compilation target of the template, for partial contents.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public PartialNode(final TagIndicate indicate, final String name,
+        final Partials partials, final Target<Node> parent) {
+        this.indic = indicate;
+        this.key = new Slot(name);
+        this.cache = partials;
+        this.target = parent;
+    }
+
+    @Override
+    public void render(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        this.render(this.key.found(pairs), pairs, output);
+    }
+
+    @Override
+    public void render(final Object value,
+        final Map<CharSequence, Object> pairs, final Appendable output)
+        throws IOException {
+        if (!Slot.ABSENT.equals(value)) {
+            this.cache.node(this.indic, value, this.target)
+                .render(pairs, output);
+        }
+    }
+
+    @Override
+    public Slot slot() {
+        return this.key;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Contents;
+import com.github.piotrkot.mustache.Kind;
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Target;
+import com.github.piotrkot.mustache.Tree;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of compiled partial contents. Files are cached by path and compiled
+ * again when their modification time or size changes or, if watch service
+ * is given, when it reports the file changed. Streams and strings are
+ * cached by themselves, so a stream is read only once, and kept as long as
+ * the cache. Contents are compiled into target of the template including
+ * the partial. Cached contents are looked up without locks, only contents
+ * compiled again lock their own key.
+ * @since 1.4
+ */
+@Slf4j
+public final class Partials {
+    /**
+     * Cached files.
+     */
+    private final Map<Path, Entry> files;
+
+    /**
+     * Cached streams and strings.
+     */
+    private final ConcurrentMap<Object, Entry> others;
+
+    /**
+     * Watched directories.
+     */
+    private final Map<WatchKey, Path> dirs;
+
+    /**
+     * Watch service.
+     */
+    private final Optional<WatchService> watch;
+
+    /**
+     * Constructor. Files are checked for modification on every render.
+     */
+    public Partials() {
+        this(Optional.empty());
+    }
+
+    /**
+     * Constructor. Files are checked for modification only by the watch
+     * service events.
+     * @param service Watch service, closed by the caller.
+     */
+    public Partials(final WatchService service) {
+        this(Optional.of(service));
+    }
+
+    /**
+     * Constructor.
+     * @param service Watch service.
+     */
+    private Partials(final Optional<WatchService> service) {
+        this.files = new ConcurrentHashMap<>();
+        this.others = new ConcurrentHashMap<>();
+        this.dirs = new ConcurrentHashMap<>();
+        this.watch = service;
+    }
+
+    /**
+     * Compiled partial contents, interpreted on render.
+     * @param indicate Indicate.
+     * @param value Partial value, a Path, an InputStream or contents.
+     * @return Node, empty if contents cannot be read.
+     */
+    public Node node(final TagIndicate indicate, final Object value) {
+        return this.node(indicate, value, new Interpreted(this));
+    }
+
+    /**
+     * Compiled partial contents.
+     * @param indicate Indicate.
+     * @param value Partial value, a Path, an InputStream or contents.
+     * @param target Compilation target of contents not cached yet.
+     * @return Node, empty if contents cannot be read.
+     */
+    public Node node(final TagIndicate indicate, final Object value,
+        final Target<Node> target) {
+        Node node;
+        try {
+            if (value instanceof Path) {
+                node = this.file(indicate, (Path) value, target);
+            } else {
+                node = this.other(indicate, value, target);
+            }
+        } catch (final IOException ex) {
+            log.info("File {} not found", value);
+            node = new Nodes(Collections.emptyList());
+        }
+        return node;
+    }
+
+    /**
+     * Compiled file contents.
+     * @param indicate Indicate.
+     * @param path File path.
+     * @param target Compilation target.
+     * @return Node.
+     * @throws IOException When fails.
+     */
+    private Node file(final TagIndicate indicate, final Path path,
+        final Target<Node> target) throws IOException {
+        this.invalidate();
+        final Path key = path.toAbsolutePath().normalize();
+        String stamp = "";
+        if (!this.watch.isPresent()) {
+            final BasicFileAttributes attrs = Files.readAttributes(
+                key, BasicFileAttributes.class
+            );
+            stamp = String.format(
+                "%d:%d", attrs.lastModifiedTime().toMillis(), attrs.size()
+            );
+        }
+        Entry entry = this.files.get(key);
+        if (entry == null || !entry.valid(indicate, stamp)) {
+            if (this.watch.isPresent() && entry == null) {
+                this.register(key.getParent());
+            }
+            entry = new Entry(
+                indicate, stamp, new Contents(key).asString(), target
+            );
+            this.files.put(key, entry);
+        }
+        return entry.node();
+    }
+
+    /**
+     * Compiled stream or string contents. Contents are read and compiled
+     * once for each key, while other keys are looked up.
+     * @param indicate Indicate.
+     * @param value Stream or string.
+     * @param target Compilation target.
+     * @return Node.
+     * @throws IOException When fails.
+     */
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private Node other(final TagIndicate indicate, final Object value,
+        final Target<Node> target) throws IOException {
+        Entry entry = this.others.get(value);
+        if (entry == null || !entry.valid(indicate, "")) {
+            try {
+                entry = this.others.compute(
+                    value,
+                    (key, known) -> Partials.fresh(
+                        known, indicate, key, target
+                    )
+                );
+            } catch (final UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
+        return entry.node();
+    }
+
+    /**
+     * Entry of stream or string, compiled again unless valid.
+     * @param known Entry known so far or null.
+     * @param indicate Indicate.
+     * @param value Stream or string.
+     * @param target Compilation target.
+     * @return Valid entry.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static Entry fresh(final Entry known, final TagIndicate indicate,
+        final Object value, final Target<Node> target) {
+        final Entry entry;
+        if (known == null || !known.valid(indicate, "")) {
+            final String contents;
+            if (value instanceof InputStream) {
+                try {
+                    contents = new Contents((InputStream) value).asString();
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            } else {
+                contents = String.valueOf(value);
+            }
+            entry = new Entry(indicate, "", contents, target);
+        } else {
+            entry = known;
+        }
+        return entry;
+    }
+
+    /**
+     * Registers directory in watch service.
+     * @param dir Directory.
+     * @throws IOException When fails.
+     */
+    private void register(final Path dir) throws IOException {
+        if (!this.dirs.containsValue(dir)) {
+            this.dirs.put(
+                dir.register(
+                    this.watch.get(),
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE
+                ),
+                dir
+            );
+        }
+    }
+
+    /**
+     * Removes files reported by watch service as changed.
+     */
+    private void invalidate() {
+        if (this.watch.isPresent()) {
+            WatchKey key = this.watch.get().poll();
+            while (key != null) {
+                final Path dir = this.dirs.get(key);
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path && dir != null) {
+                        this.files.remove(dir.resolve((Path) event.context()));
+                    } else {
+                        this.files.clear();
+                    }
+                }
+                key.reset();
+                key = this.watch.get().poll();
+            }
+        }
+    }
+
+    /**
+     * Compiled contents with delimiters and stamp they are valid for.
+     * @since 1.4
+     */
+    private static final class Entry {
+        /**
+         * Indicate compiled with.
+         */
+        private final TagIndicate indic;
+
+        /**
+         * Delimiters.
+         */
+        private final String delims;
+
+        /**
+         * File stamp.
+         */
+        private final String stmp;
+
+        /**
+         * Compiled contents.
+         */
+        private final Node root;
+
+        /**
+         * Constructor.
+         * @param indicate Indicate.
+         * @param stamp File stamp.
+         * @param contents Contents.
+         * @param target Compilation target.
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Entry(final TagIndicate indicate, final String stamp,
+            final String contents, final Target<Node> target) {
+            this.indic = indicate;
+            this.delims = Entry.delimiters(indicate);
+            this.stmp = stamp;
+            this.root = new Tree(
+                indicate,
+                contents,
+                EnumSet.of(Kind.VARIABLE, Kind.SECTION, Kind.INV_SECTION)
+            ).compile(target);
+        }
+
+        /**
+         * Whether entry is valid for delimiters and stamp. Delimiters are
+         * joined only for indicate other than the one compiled with.
+         * @param indicate Indicate.
+         * @param stamp File stamp.
+         * @return True if valid.
+         */
+        public boolean valid(final TagIndicate indicate, final String stamp) {
+            return (this.indic.equals(indicate)
+                || this.delims.equals(Entry.delimiters(indicate)))
+                && this.stmp.equals(stamp);
+        }
+
+        /**
+         * Compiled contents.
+         * @return Node.
+         */
+        public Node node() {
+            return this.root;
+        }
+
+        /**
+         * Delimiters of the indicate.
+         * @param indicate Indicate.
+         * @return Delimiters as one string.
+         */
+        private static String delimiters(final TagIndicate indicate) {
+            return String.join("\n", indicate.start(), indicate.end());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Value given as {@link CompletionStage} referenced before completed.
+ * Synchronous render fails, asynchronous render is tried again once the
+ * stage completes. Render probing on its thread records stages not
+ * completed and goes on, so all of them are awaited at once.
+ * @since 1.4
+ */
+final class Pending extends IllegalStateException {
+    /**
+     * Serial version.
+     */
+    private static final long serialVersionUID = 4_562_187_901_234_567L;
+
+    /**
+     * Stages not completed recorded by render probing on the thread.
+     */
+    private static final ThreadLocal<List<CompletionStage<?>>> STAGES =
+        new ThreadLocal<>();
+
+    /**
+     * Stage not completed.
+     */
+    private final transient CompletionStage<?> awaited;
+
+    /**
+     * Constructor.
+     * @param stage Stage not completed.
+     */
+    Pending(final CompletionStage<?> stage) {
+        super("Value not completed, supply asynchronously to wait for it");
+        this.awaited = stage;
+    }
+
+    /**
+     * Stage not completed.
+     * @return Stage.
+     */
+    CompletionStage<?> stage() {
+        return this.awaited;
+    }
+
+    /**
+     * Value rendered in place of the stage, recorded if render probes on
+     * this thread.
+     * @return Empty value.
+     * @throws Pending If render does not probe.
+     */
+    String probed() {
+        final List<CompletionStage<?>> stages = Pending.STAGES.get();
+        if (stages == null) {
+            throw this;
+        }
+        stages.add(this.awaited);
+        return "";
+    }
+
+    /**
+     * Start probing render on this thread.
+     * @return Stages recorded.
+     */
+    static List<CompletionStage<?>> probe() {
+        final List<CompletionStage<?>> stages = new ArrayList<>(0);
+        Pending.STAGES.set(stages);
+        return stages;
+    }
+
+    /**
+     * Stop probing render on this thread.
+     */
+    static void unprobe() {
+        Pending.STAGES.remove();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.flight.Flight;
+import com.github.piotrkot.mustache.flight.Span;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Section node. Renders its body multiple times. Items may be maps or
+ * objects, like beans or records, whose properties are looked up.
+ * @since 1.4
+ */
+public final class SectionNode implements Keyed {
+    /**
+     * Section name.
+     */
+    private final Slot key;
+
+    /**
+     * Section body.
+     */
+    private final Node body;
+
+    /**
+     * Render of items.
+     */
+    private final Parallel items;
+
+    /**
+     * Recorder of iterations.
+     */
+    private final Flight flight;
+
+    /**
+     * Constructor.
+     * @param name Section name.
+     * @param node Section body.
+     */
+    public SectionNode(final String name, final Node node) {
+        this(name, node, new Parallel());
+    }
+
+    /**
+     * Constructor.
+     * @param name Section name.
+     * @param node Section body.
+     * @param parallel Render of items.
+     */
+    public SectionNode(final String name, final Node node,
+        final Parallel parallel) {
+        this.key = new Slot(name);
+        this.body = node;
+        this.items = parallel;
+        this.flight = new Flight();
+    }
+
+    @Override
+    public void render(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        this.render(this.key.found(pairs), pairs, output);
+    }
+
+    @Override
+    public void render(final Object value,
+        final Map<CharSequence, Object> pairs, final Appendable output)
+        throws IOException {
+        if (!Slot.ABSENT.equals(value)) {
+            if (SectionNode.truthy(value)) {
+                this.body.render(pairs, output);
+            } else if (value instanceof List) {
+                final Span span = this.flight.section(this.key.name());
+                this.items.render(this.body, pairs, (List<?>) value, output);
+                span.end(((List<?>) value).size());
+            } else if (value instanceof Iterable) {
+                final Span span = this.flight.section(this.key.name());
+                long count = 0;
+                for (final Object elem : (Iterable<?>) value) {
+                    this.body.render(
+                        SectionNode.context(pairs, SectionNode.map(elem)), output
+                    );
+                    count += 1;
+                }
+                span.end(count);
+            } else if (Bean.applies(value)) {
+                this.body.render(
+                    SectionNode.context(pairs, new Bean(value)), output
+                );
+            }
+        }
+    }
+
+    @Override
+    public Slot slot() {
+        return this.key;
+    }
+
+    /**
+     * Context of section item. Item pairs are layered over enclosing
+     * context, which is not copied.
+     * @param context Enclosing context.
+     * @param item Pairs of section item.
+     * @return Context.
+     */
+    static Map<CharSequence, Object> context(
+        final Map<CharSequence, Object> context, final Map<?, ?> item) {
+        final Map<CharSequence, Object> layered;
+        if (item.isEmpty()) {
+            layered = context;
+        } else {
+            layered = new Layered(context, item);
+        }
+        return layered;
+    }
+
+    /**
+     * Pairs of iterated element. Maps are taken as they are, properties of
+     * other objects are read by accessors.
+     * @param elem Element.
+     * @return Pairs.
+     */
+    static Map<?, ?> map(final Object elem) {
+        final Map<?, ?> map;
+        if (elem instanceof Map) {
+            map = (Map<?, ?>) elem;
+        } else if (Bean.applies(elem)) {
+            map = new Bean(elem);
+        } else {
+            map = Collections.emptyMap();
+        }
+        return map;
+    }
+
+    /**
+     * Whether value renders section once in enclosing context. Iterables
+     * are never true, so they are not turned into strings.
+     * @param value Value.
+     * @return True if value is true.
+     */
+    private static boolean truthy(final Object value) {
+        return !(value instanceof Iterable)
+            && Boolean.parseBoolean(String.valueOf(value));
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Context;
+import com.github.piotrkot.mustache.Keys;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tag name looked up in pairs. In {@link Context} value is found by slot of
+ * the name, resolved once for each table of names, in other pairs by the
+ * name itself. Within sections the context is reached through items not
+ * having the name. Dotted name not found as it is, like {@code user.address},
+ * is a path walked through nested maps and objects segment by segment.
+ * Lazy values are computed on reference, once a render of {@link Memo}.
+ * @since 1.4
+ */
+public final class Slot {
+    /**
+     * Value of name not found.
+     */
+    public static final Object ABSENT = new Object();
+
+    /**
+     * Tag name.
+     */
+    private final String nam;
+
+    /**
+     * First segment of dotted name.
+     */
+    private final String first;
+
+    /**
+     * Following segments of dotted name, empty if name is not dotted.
+     */
+    private final List<Step> path;
+
+    /**
+     * Slot in the last table of names seen.
+     */
+    private volatile Slot.Resolved last;
+
+    /**
+     * Constructor.
+     * @param name Tag name.
+     */
+    public Slot(final String name) {
+        this.nam = name;
+        this.first = Slot.segments(name).get(0);
+        this.path = Slot.steps(name);
+        this.last = new Slot.Resolved(new Keys(Collections.emptyList()), -1);
+    }
+
+    /**
+     * Whether pairs have value of the name. Lazy values are not computed
+     * unless on dotted path.
+     * @param pairs Pairs.
+     * @return True if found.
+     */
+    public boolean has(final Map<CharSequence, Object> pairs) {
+        return this.literal(pairs)
+            || !this.path.isEmpty() && !Slot.ABSENT.equals(this.walk(pairs));
+    }
+
+    /**
+     * Value of the name in pairs, looked up once.
+     * @param pairs Pairs.
+     * @return Value or {@link #ABSENT} if not found.
+     */
+    public Object found(final Map<CharSequence, Object> pairs) {
+        Object value = this.direct(pairs);
+        if (Slot.ABSENT.equals(value) && !this.path.isEmpty()) {
+            value = this.walk(pairs);
+        }
+        return value;
+    }
+
+    /**
+     * Appends value of the name to output, nothing if not found.
+     * @param pairs Pairs.
+     * @param output Output.
+     * @throws IOException When fails.
+     */
+    public void append(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        final Object value = this.found(pairs);
+        if (!Slot.ABSENT.equals(value)) {
+            output.append(String.valueOf(value));
+        }
+    }
+
+    /**
+     * Tag name.
+     * @return Name.
+     */
+    public String name() {
+        return this.nam;
+    }
+
+    /**
+     * Whether pairs have value of the name as it is.
+     * @param pairs Pairs.
+     * @return True if found.
+     */
+    private boolean literal(final Map<CharSequence, Object> pairs) {
+        final Map<CharSequence, Object> scope = Layered.scope(pairs, this.nam);
+        final Map<CharSequence, Object> origin = Memo.unwrapped(scope);
+        final boolean found;
+        if (origin instanceof Context) {
+            final Context context = (Context) origin;
+            final int idx = this.index(context);
+            found = idx >= 0 && context.has(idx);
+        } else {
+            found = scope.containsKey(this.nam);
+        }
+        return found;
+    }
+
+    /**
+     * Value of the name as it is. Lazy values of context are remembered by
+     * memo of the render, context itself is never changed.
+     * @param pairs Pairs.
+     * @return Value or {@link #ABSENT} if not found.
+     */
+    private Object direct(final Map<CharSequence, Object> pairs) {
+        final Map<CharSequence, Object> scope = Layered.scope(pairs, this.nam);
+        final Map<CharSequence, Object> origin = Memo.unwrapped(scope);
+        Object value = Slot.ABSENT;
+        if (origin instanceof Context) {
+            final Context context = (Context) origin;
+            final int idx = this.index(context);
+            if (idx >= 0 && context.has(idx)) {
+                value = Memo.computed(pairs, context.value(idx));
+            }
+        } else {
+            final Object raw = scope.get(this.nam);
+            if (raw != null || scope.containsKey(this.nam)) {
+                value = Memo.computed(pairs, raw);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Value at the end of dotted path.
+     * @param pairs Pairs.
+     * @return Value or {@link #ABSENT} if not found.
+     */
+    private Object walk(final Map<CharSequence, Object> pairs) {
+        Object value = Slot.ABSENT;
+        final Object raw = pairs.get(this.first);
+        if (raw != null || pairs.containsKey(this.first)) {
+            value = Memo.computed(pairs, raw);
+        }
+        for (final Step step : this.path) {
+            if (!Slot.ABSENT.equals(value)) {
+                value = step.apply(value, pairs);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Slot of the name in table of the context.
+     * @param context Context.
+     * @return Slot or negative if not in the table.
+     */
+    private int index(final Context context) {
+        Slot.Resolved res = this.last;
+        if (!res.keys().equals(context.keys())) {
+            res = new Slot.Resolved(
+                context.keys(), context.keys().slot(this.nam)
+            );
+            this.last = res;
+        }
+        return res.index();
+    }
+
+    /**
+     * Segments of dotted name, the whole name if any segment is empty.
+     * @param name Tag name.
+     * @return Segments.
+     */
+    private static List<String> segments(final String name) {
+        List<String> segments = Arrays.asList(name.split("\\.", -1));
+        if (segments.contains("")) {
+            segments = Collections.singletonList(name);
+        }
+        return segments;
+    }
+
+    /**
+     * Steps of dotted name following the first segment.
+     * @param name Tag name.
+     * @return Steps.
+     */
+    private static List<Step> steps(final String name) {
+        final List<String> segments = Slot.segments(name);
+        final List<Step> steps = new ArrayList<>(segments.size() - 1);
+        for (final String segment : segments.subList(1, segments.size())) {
+            steps.add(new Step(segment));
+        }
+        return steps;
+    }
+
+    /**
+     * Slot resolved in table of names.
+     * @since 1.4
+     */
+    private static final class Resolved {
+        /**
+         * Table of names.
+         */
+        private final Keys table;
+
+        /**
+         * Slot.
+         */
+        private final int slot;
+
+        /**
+         * Constructor.
+         * @param keys Table of names.
+         * @param index Slot.
+         */
+        Resolved(final Keys keys, final int index) {
+            this.table = keys;
+            this.slot = index;
+        }
+
+        /**
+         * Table of names.
+         * @return Keys.
+         */
+        public Keys keys() {
+            return this.table;
+        }
+
+        /**
+         * Slot.
+         * @return Slot.
+         */
+        public int index() {
+            return this.slot;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Segment of dotted tag name, read from value of preceding segment. Maps
+ * are read by key, other objects by accessors. Accessor of the last class
+ * seen is kept, so reading values of the same shape resolves nothing.
+ * @since 1.4
+ */
+final class Step {
+    /**
+     * Segment name.
+     */
+    private final String nam;
+
+    /**
+     * Accessor of the last class seen.
+     */
+    private volatile Step.Shape last;
+
+    /**
+     * Constructor.
+     * @param name Segment name.
+     */
+    Step(final String name) {
+        this.nam = name;
+        this.last = new Step.Shape(Step.class, Optional.empty());
+    }
+
+    /**
+     * Value of segment. Lazy values are computed once a render of pairs.
+     * @param target Value of preceding segment.
+     * @param pairs Pairs of the render.
+     * @return Value or {@link Slot#ABSENT} if not found.
+     */
+    public Object apply(final Object target,
+        final Map<CharSequence, Object> pairs) {
+        Object value = Slot.ABSENT;
+        if (target instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) target;
+            if (map.containsKey(this.nam)) {
+                value = Memo.computed(pairs, map.get(this.nam));
+            }
+        } else if (Bean.applies(target)) {
+            final Optional<MethodHandle> handle = this.handle(target.getClass());
+            if (handle.isPresent()) {
+                value = Memo.computed(
+                    pairs, Bean.invoke(handle.get(), target)
+                );
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Accessor of segment in class.
+     * @param cls Class.
+     * @return Accessor or empty.
+     */
+    private Optional<MethodHandle> handle(final Class<?> cls) {
+        Step.Shape shape = this.last;
+        if (!shape.type().equals(cls)) {
+            shape = new Step.Shape(
+                cls, Accessors.cached(cls).handle(this.nam)
+            );
+            this.last = shape;
+        }
+        return shape.handle();
+    }
+
+    /**
+     * Accessor resolved for class.
+     * @since 1.4
+     */
+    private static final class Shape {
+        /**
+         * Class.
+         */
+        private final Class<?> cls;
+
+        /**
+         * Accessor.
+         */
+        private final Optional<MethodHandle> accessor;
+
+        /**
+         * Constructor.
+         * @param type Class.
+         * @param handle Accessor.
+         */
+        Shape(final Class<?> type, final Optional<MethodHandle> handle) {
+            this.cls = type;
+            this.accessor = handle;
+        }
+
+        /**
+         * Class.
+         * @return Class.
+         */
+        public Class<?> type() {
+            return this.cls;
+        }
+
+        /**
+         * Accessor.
+         * @return Accessor or empty.
+         */
+        public Optional<MethodHandle> handle() {
+            return this.accessor;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Variable node. Basic string replacement.
+ * @since 1.4
+ */
+public final class VariableNode implements Keyed {
+    /**
+     * Variable name.
+     */
+    private final Slot key;
+
+    /**
+     * Constructor.
+     * @param name Variable name.
+     */
+    public VariableNode(final String name) {
+        this.key = new Slot(name);
+    }
+
+    @Override
+    public void render(final Map<CharSequence, Object> pairs,
+        final Appendable output) throws IOException {
+        this.render(this.key.found(pairs), pairs, output);
+    }
+
+    @Override
+    public void render(final Object value,
+        final Map<CharSequence, Object> pairs, final Appendable output)
+        throws IOException {
+        if (!Slot.ABSENT.equals(value)) {
+            output.append(String.valueOf(value));
+        }
+    }
+
+    @Override
+    public Slot slot() {
+        return this.key;
+    }
+}
@@ -23,15 +23,13 @@
  */
 package com.github.piotrkot.mustache.tags;
 
+import com.github.piotrkot.mustache.Kind;
 import com.github.piotrkot.mustache.Tag;
 import com.github.piotrkot.mustache.TagIndicate;
-import com.github.piotrkot.mustache.Tags;
+import com.github.piotrkot.mustache.Tree;
 import java.io.IOException;
+import java.util.EnumSet;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import org.cactoos.scalar.IoChecked;
-import org.cactoos.scalar.LengthOf;
 
 /**
  * Inverted section tag type. Renders text once but in condition inverted to
@@ -39,16 +37,6 @@ import org.cactoos.scalar.LengthOf;
  * @since 1.0
  */
 public final class InvSection implements Tag {
-    /**
-     * Section Regexp pattern.
-     */
-    private final Pattern patt;
-
-    /**
-     * Nested tag Regexp pattern.
-     */
-    private final Pattern nest;
-
     /**
      * Indicate.
      */
@@ -60,56 +48,18 @@ public final class InvSection implements Tag {
      */
     public InvSection(final TagIndicate indicate) {
         this.indic = indicate;
-        // @checkstyle LineLength (3 lines)
-        this.patt = Pattern.compile(
-            String.format(
-                "%1$s\\s*\\^\\s*([\\w\\.]+)\\s*%2$s(.+?)%1$s\\s*/\\s*(\\1)\\s*%2$s",
-                indicate.safeStart(),
-                indicate.safeEnd()
-            ),
-            Pattern.DOTALL
-        );
-        this.nest = Pattern.compile(
-            String.format(
-                ".*%1$s.*%2$s.*",
-                indicate.safeStart(),
-                indicate.safeEnd()
-            ),
-            Pattern.DOTALL
-        );
     }
 
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     @Override
     public String render(final CharSequence tmpl,
         final Map<CharSequence, Object> pairs) throws IOException {
-        final StringBuilder result = new StringBuilder();
-        int start = 0;
-        final Matcher matcher = this.patt.matcher(tmpl);
-        while (matcher.find()) {
-            result.append(tmpl.subSequence(start, matcher.start()));
-            final boolean contains = pairs.containsKey(matcher.group(1));
-            final String content = matcher.group(2);
-            final Object value = pairs.getOrDefault(matcher.group(1), "");
-            final boolean nested = this.nest.matcher(content).find();
-            final boolean allowed = value instanceof Iterable
-                && new IoChecked<>(new LengthOf((Iterable) value)).value() == 0
-                || value.toString().equals(Boolean.FALSE.toString());
-            if (contains && allowed && nested) {
-                result.append(
-                    new Tags(
-                        new Partial(this.indic),
-                        new Section(this.indic),
-                        new InvSection(this.indic),
-                        new Variable(this.indic)
-                    ).render(matcher.group(2), pairs)
-                );
-            } else if (contains && allowed) {
-                result.append(content);
-            }
-            start = matcher.end();
-        }
-        result.append(tmpl.subSequence(start, tmpl.length()));
+        final StringBuilder result = new StringBuilder(tmpl.length());
+        new Tree(
+            this.indic,
+            tmpl,
+            EnumSet.of(Kind.INV_SECTION),
+            EnumSet.allOf(Kind.class)
+        ).compile().render(pairs, result);
         return result.toString();
     }
 }
@@ -23,17 +23,13 @@
  */
 package com.github.piotrkot.mustache.tags;
 
-import com.github.piotrkot.mustache.Contents;
+import com.github.piotrkot.mustache.Kind;
 import com.github.piotrkot.mustache.Tag;
 import com.github.piotrkot.mustache.TagIndicate;
-import com.github.piotrkot.mustache.Tags;
+import com.github.piotrkot.mustache.Tree;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Path;
+import java.util.EnumSet;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import lombok.extern.slf4j.Slf4j;
 
 /**
  * Partial tag type. Renders text at runtime based on file injection. Location
@@ -42,13 +38,7 @@ import lombok.extern.slf4j.Slf4j;
  * string file cnt.
  * @since 1.0
  */
-@Slf4j
 public final class Partial implements Tag {
-    /**
-     * Partial pattern.
-     */
-    private final transient Pattern patt;
-
     /**
      * Indicate.
      */
@@ -60,50 +50,18 @@ public final class Partial implements Tag {
      */
     public Partial(final TagIndicate indicate) {
         this.indic = indicate;
-        this.patt = Pattern.compile(
-            String.format(
-                "%s\\s*>\\s*([\\w\\.]+)\\s*%s",
-                indicate.safeStart(),
-                indicate.safeEnd()
-            )
-        );
     }
 
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     @Override
     public String render(final CharSequence tmpl,
         final Map<CharSequence, Object> pairs) throws IOException {
-        final StringBuilder result = new StringBuilder();
-        int start = 0;
-        final Matcher matcher = this.patt.matcher(tmpl);
-        while (matcher.find()) {
-            result.append(tmpl.subSequence(start, matcher.start()));
-            final Object value = pairs.get(matcher.group(1));
-            if (pairs.containsKey(matcher.group(1))) {
-                try {
-                    final Contents contents;
-                    if (value instanceof Path) {
-                        contents = new Contents((Path) value);
-                    } else if (value instanceof InputStream) {
-                        contents = new Contents((InputStream) value);
-                    } else {
-                        contents = new Contents(value.toString());
-                    }
-                    result.append(
-                        new Tags(
-                            new Section(this.indic),
-                            new InvSection(this.indic),
-                            new Variable(this.indic)
-                        ).render(contents.asString(), pairs)
-                    );
-                } catch (final IOException ex) {
-                    log.info("File {} not found", value);
-                }
-            }
-            start = matcher.end();
-        }
-        result.append(tmpl.subSequence(start, tmpl.length()));
+        final StringBuilder result = new StringBuilder(tmpl.length());
+        new Tree(
+            this.indic,
+            tmpl,
+            EnumSet.of(Kind.PARTIAL),
+            EnumSet.allOf(Kind.class)
+        ).compile().render(pairs, result);
         return result.toString();
     }
-
 }
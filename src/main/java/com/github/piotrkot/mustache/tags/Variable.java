@@ -23,12 +23,13 @@
  */
 package com.github.piotrkot.mustache.tags;
 
-import com.github.piotrkot.mustache.EasyMatch;
+import com.github.piotrkot.mustache.Kind;
 import com.github.piotrkot.mustache.Tag;
 import com.github.piotrkot.mustache.TagIndicate;
+import com.github.piotrkot.mustache.Token;
+import com.github.piotrkot.mustache.Tokens;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Variable template tag. Basic string replacement.
@@ -36,11 +37,6 @@ import java.util.regex.Pattern;
  * @since 1.0
  */
 public final class Variable implements Tag {
-    /**
-     * Variable pattern.
-     */
-    private final transient Pattern patt;
-
     /**
      * Indicate.
      */
@@ -53,87 +49,59 @@ public final class Variable implements Tag {
      */
     public Variable(final TagIndicate indicate) {
         this.indic = indicate;
-        this.patt = Pattern.compile(
-            String.format(
-                "%s\\s*([\\w\\.]+)\\s*%s",
-                indicate.safeStart(),
-                indicate.safeEnd()
-            )
-        );
     }
 
     @Override
     public String render(final CharSequence tmpl,
         final Map<CharSequence, Object> pairs) {
-        final StringBuilder result = new StringBuilder();
+        final StringBuilder result = new StringBuilder(tmpl.length());
+        final List<Token> tokens = new Tokens(this.indic, tmpl).list();
+        final int total = Variable.depth(tokens);
+        int depth = 0;
         int start = 0;
-        final EasyMatch matcher = new EasyMatch(
-            this.patt,
-            tmpl,
-            context -> {
-                final String after = context.input().substring(context.end());
-                return new PatternCount(
-                    Pattern.compile(
-                        String.format(
-                            "%s[#\\^]\\s*[\\w\\.]+\\s*%s",
-                            this.indic.safeStart(),
-                            this.indic.safeEnd()
-                        )
-                    ).matcher(after)
-                ).count() == new PatternCount(
-                    Pattern.compile(
-                        String.format(
-                            "%s/\\s*[\\w\\.]+\\s*%s",
-                            this.indic.safeStart(),
-                            this.indic.safeEnd()
-                        )
-                    ).matcher(after)
-                ).count();
+        for (final Token token : tokens) {
+            depth += Variable.depth(token);
+            if (token.kind() == Kind.VARIABLE && depth == total) {
+                result.append(tmpl, start, token.start());
+                if (pairs.containsKey(token.name())) {
+                    result.append(pairs.get(token.name()));
+                }
+                start = token.end();
             }
-        );
-        while (matcher.find()) {
-            result.append(tmpl.subSequence(start, matcher.start()));
-            final String name = matcher.group(1);
-            if (pairs.containsKey(name)) {
-                result.append(pairs.get(name));
-            }
-            start = matcher.end();
         }
-        result.append(tmpl.subSequence(start, tmpl.length()));
+        result.append(tmpl, start, tmpl.length());
         return result.toString();
     }
 
     /**
-     * Count of pattern matched.
-     * @since 1.0
+     * Section nesting depth at the end of the template. Variables are
+     * rendered only where depth is the same, that is where the rest of
+     * template has balanced sections.
+     * @param tokens Tags.
+     * @return Depth.
      */
-    class PatternCount {
-        /**
-         * Matcher.
-         */
-        private final Matcher mtch;
-
-        /**
-         * Constructor.
-         *
-         * @param matcher Matcher.
-         */
-        PatternCount(final Matcher matcher) {
-            this.mtch = matcher;
+    private static int depth(final List<Token> tokens) {
+        int depth = 0;
+        for (final Token token : tokens) {
+            depth += Variable.depth(token);
         }
+        return depth;
+    }
 
-        /**
-         * Number of occurrences of pattern.
-         *
-         * @return Number of patterns found.
-         */
-        public int count() {
-            int count = 0;
-            while (this.mtch.find()) {
-                count += 1;
-            }
-            return count;
+    /**
+     * Change of section nesting depth by the tag.
+     * @param token Tag.
+     * @return Depth change.
+     */
+    private static int depth(final Token token) {
+        final int change;
+        if (token.kind() == Kind.SECTION || token.kind() == Kind.INV_SECTION) {
+            change = 1;
+        } else if (token.kind() == Kind.CLOSING) {
+            change = -1;
+        } else {
+            change = 0;
         }
+        return change;
     }
-
 }
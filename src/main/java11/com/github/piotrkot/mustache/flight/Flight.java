@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.flight;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * Recorder of template work as Java Flight Recorder events. Events of
+ * disabled types are neither created nor begun, so spans cost nothing
+ * when not recorded.
+ *
+ * @since 1.4
+ */
+public final class Flight {
+    /**
+     * Type of compilation events.
+     */
+    private static final EventType COMPILES =
+        EventType.getEventType(CompileEvent.class);
+
+    /**
+     * Type of render events.
+     */
+    private static final EventType RENDERS =
+        EventType.getEventType(RenderEvent.class);
+
+    /**
+     * Type of section events.
+     */
+    private static final EventType SECTIONS =
+        EventType.getEventType(SectionEvent.class);
+
+    /**
+     * Type of read events.
+     */
+    private static final EventType READS =
+        EventType.getEventType(ReadEvent.class);
+
+    /**
+     * Span recording nothing.
+     */
+    private final Span idle;
+
+    /**
+     * Constructor.
+     */
+    public Flight() {
+        this.idle = new Idle();
+    }
+
+    /**
+     * Span of template compilation.
+     * @param template Template identity.
+     * @return Span ended with characters of content.
+     */
+    public Span compilation(final String template) {
+        final Span span;
+        if (Flight.COMPILES.isEnabled()) {
+            span = Flight.begun(new CompileEvent(template));
+        } else {
+            span = this.idle;
+        }
+        return span;
+    }
+
+    /**
+     * Span of template render.
+     * @param template Template identity.
+     * @return Span ended with characters of output.
+     */
+    public Span render(final String template) {
+        final Span span;
+        if (Flight.RENDERS.isEnabled()) {
+            span = Flight.begun(new RenderEvent(template));
+        } else {
+            span = this.idle;
+        }
+        return span;
+    }
+
+    /**
+     * Span of section iterations.
+     * @param section Section name.
+     * @return Span ended with number of items.
+     */
+    public Span section(final String section) {
+        final Span span;
+        if (Flight.SECTIONS.isEnabled()) {
+            span = Flight.begun(new SectionEvent(section));
+        } else {
+            span = this.idle;
+        }
+        return span;
+    }
+
+    /**
+     * Span of template file read.
+     * @param path Template file.
+     * @return Span ended with characters read.
+     */
+    public Span read(final String path) {
+        final Span span;
+        if (Flight.READS.isEnabled()) {
+            span = Flight.begun(new ReadEvent(path));
+        } else {
+            span = this.idle;
+        }
+        return span;
+    }
+
+    /**
+     * Begins event of enabled type.
+     * @param event Event.
+     * @param <T> Type of event.
+     * @return Span of event.
+     */
+    private static <T extends Event & Span> Span begun(final T event) {
+        event.begin();
+        return event;
+    }
+}
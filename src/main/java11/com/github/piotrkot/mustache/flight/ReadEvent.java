@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Read of template or partial file.
+ *
+ * @since 1.4
+ */
+@Name("com.github.piotrkot.mustache.Read")
+@Label("Template read")
+@Category("Mustache")
+@SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
+@Description("Read of template or partial file")
+final class ReadEvent extends Event implements Span {
+    /**
+     * Template file.
+     */
+    @Label("Path")
+    private final String path;
+
+    /**
+     * Characters read.
+     */
+    @Label("Characters")
+    private long chars;
+
+    /**
+     * Constructor.
+     * @param value Template file.
+     */
+    ReadEvent(final String value) {
+        this.path = value;
+    }
+
+    @Override
+    public boolean recorded() {
+        return true;
+    }
+
+    @Override
+    public void end(final long size) {
+        this.chars = size;
+        this.commit();
+    }
+}
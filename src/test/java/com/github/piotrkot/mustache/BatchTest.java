@@ -0,0 +1,215 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Batch class.
+ * @since 1.4
+ */
+final class BatchTest {
+    /**
+     * Template.
+     */
+    private static final Template TEMPLATE =
+        new Mustache("Dear {{name}},{{#vip}} welcome back{{/vip}}!");
+
+    /**
+     * Should deliver outputs in order.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldDeliverInOrder() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final Batch[] batches = {
+                new Batch(BatchTest.TEMPLATE),
+                new Batch(BatchTest.TEMPLATE, executor, true, 7),
+            };
+            for (final Batch batch : batches) {
+                final List<String> outputs = new ArrayList<>(0);
+                batch.supply(
+                    BatchTest.recipients(100),
+                    (index, output) -> {
+                        MatcherAssert.assertThat(
+                            index, Matchers.is(outputs.size())
+                        );
+                        outputs.add(output.toString());
+                    }
+                );
+                MatcherAssert.assertThat(outputs, Matchers.hasSize(100));
+                MatcherAssert.assertThat(
+                    outputs.get(42),
+                    Matchers.is("Dear r42, welcome back!")
+                );
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Should deliver outputs as they complete.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldDeliverUnordered() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final Map<Integer, String> outputs = new ConcurrentHashMap<>(0);
+            new Batch(BatchTest.TEMPLATE, executor, false, 5).supply(
+                BatchTest.recipients(100),
+                (index, output) -> outputs.put(index, output.toString())
+            );
+            MatcherAssert.assertThat(outputs.size(), Matchers.is(100));
+            MatcherAssert.assertThat(outputs.get(43), Matchers.is("Dear r43,!"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Should fail when sink fails.
+     */
+    @Test
+    void shouldFailWithSink() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Assertions.assertThrows(
+                IOException.class,
+                () -> new Batch(BatchTest.TEMPLATE, executor, false).supply(
+                    BatchTest.recipients(10),
+                    (index, output) -> {
+                        throw new IOException("full");
+                    }
+                )
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Should stop at first failure.
+     */
+    @Test
+    void shouldStopAtFailure() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final AtomicInteger calls = new AtomicInteger();
+            Assertions.assertThrows(
+                IOException.class,
+                () -> new Batch(BatchTest.TEMPLATE, executor, false, 1).supply(
+                    BatchTest.recipients(10),
+                    (index, output) -> {
+                        calls.incrementAndGet();
+                        throw new IOException("full");
+                    }
+                )
+            );
+            MatcherAssert.assertThat(calls.get(), Matchers.is(1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Should fail ordered batch as render failed.
+     */
+    @Test
+    void shouldFailOrderedAsRendered() {
+        BatchTest.assertFailsAsRendered(true);
+    }
+
+    /**
+     * Should fail unordered batch as render failed.
+     */
+    @Test
+    void shouldFailUnorderedAsRendered() {
+        BatchTest.assertFailsAsRendered(false);
+    }
+
+    /**
+     * Supplies batch with render failing not on output and checks the
+     * failure is thrown as it is.
+     * @param order Whether outputs are delivered in order.
+     */
+    private static void assertFailsAsRendered(final boolean order) {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Map<CharSequence, Object>> batch =
+                BatchTest.recipients(10);
+            batch.add(
+                new MapOf<CharSequence, Object>(
+                    "name",
+                    (Supplier<Object>) () -> {
+                        throw new IllegalStateException("gone");
+                    }
+                )
+            );
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new Batch(BatchTest.TEMPLATE, executor, order).supply(
+                    batch, (index, output) -> { }
+                )
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Pairs of recipients.
+     * @param size Number of recipients.
+     * @return Pairs.
+     */
+    private static List<Map<CharSequence, Object>> recipients(final int size) {
+        final List<Map<CharSequence, Object>> recipients =
+            new ArrayList<>(size);
+        for (int idx = 0; idx < size; idx += 1) {
+            recipients.add(
+                new MapOf<CharSequence, Object>(
+                    new MapEntry<>("name", String.format("r%d", idx)),
+                    new MapEntry<>("vip", idx % 2 == 0)
+                )
+            );
+        }
+        return recipients;
+    }
+}
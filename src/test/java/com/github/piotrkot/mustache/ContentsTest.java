@@ -23,10 +23,15 @@
  */
 package com.github.piotrkot.mustache;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests for Contents class.
@@ -90,4 +95,22 @@ final class ContentsTest {
             Matchers.is(ContentsTest.CONTENT)
         );
     }
+
+    /**
+     * Should read large path.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldReadLargePath(@TempDir final Path dir) throws Exception {
+        final String text = String.join(
+            "", Collections.nCopies(200_000, "żółw {{a}}\n")
+        );
+        final Path path = dir.resolve("large.mustache");
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+        MatcherAssert.assertThat(
+            new Contents(path).asString(),
+            Matchers.is(text)
+        );
+    }
 }
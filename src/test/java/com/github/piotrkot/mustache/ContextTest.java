@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import com.github.piotrkot.mustache.bytecode.Generated;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Context class.
+ *
+ * @since 1.4
+ */
+final class ContextTest {
+    /**
+     * Template content.
+     */
+    private static final String CONTENT =
+        "{{a}}{{#l}}[{{b}}{{a}}]{{/l}}{{^e}}-{{/e}}{{missing}}";
+
+    /**
+     * Should supply context filled by slots the same as map.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldSupplyBySlots() throws Exception {
+        final Slotted[] templates = {
+            new Mustache(ContextTest.CONTENT),
+            new Mustache(ContextTest.CONTENT, new Generated()),
+        };
+        for (final Slotted template : templates) {
+            final Context context = template.context();
+            final Keys keys = context.keys();
+            context
+                .set(keys.slot("a"), "A")
+                .set(keys.slot("l"), new ListOf<>(new MapOf<>("b", "B")))
+                .set("e", false);
+            MatcherAssert.assertThat(
+                template.supply(context),
+                Matchers.is("A[BA]-")
+            );
+        }
+    }
+
+    /**
+     * Should list tag names of template.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldListKeys() throws Exception {
+        MatcherAssert.assertThat(
+            new Mustache(ContextTest.CONTENT).context().keys().names(),
+            Matchers.contains("a", "l", "b", "e", "missing")
+        );
+    }
+
+    /**
+     * Should reject unknown name.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldRejectUnknownName() throws Exception {
+        final Context context = new Mustache("{{a}}").context();
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> context.set("b", "B")
+        );
+    }
+
+    /**
+     * Should look up by name as map.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldLookUpByName() throws Exception {
+        final Context context = new Mustache("{{a}}{{b}}").context();
+        context.set("b", "B");
+        MatcherAssert.assertThat(
+            context,
+            Matchers.allOf(
+                Matchers.hasEntry("b", "B"),
+                Matchers.not(Matchers.hasKey("a"))
+            )
+        );
+    }
+}
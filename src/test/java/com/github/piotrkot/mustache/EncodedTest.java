@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Encoded class.
+ *
+ * @since 1.4
+ */
+final class EncodedTest {
+    /**
+     * Text with chars of all lengths in UTF-8.
+     */
+    private static final String TEXT = "aó€😀z";
+
+    /**
+     * Should encode chars as String does.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldEncodeAsString() throws Exception {
+        for (final Charset charset : new Charset[] {
+            StandardCharsets.UTF_8, StandardCharsets.UTF_16BE,
+        }) {
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            final Encoded output = new Encoded(stream, charset);
+            output.append(EncodedTest.TEXT);
+            output.text("<p>", "<p>".getBytes(StandardCharsets.UTF_8));
+            for (final char chr : EncodedTest.TEXT.toCharArray()) {
+                output.append(chr);
+            }
+            output.flush();
+            MatcherAssert.assertThat(
+                stream.toByteArray(),
+                Matchers.is(
+                    String.join("", EncodedTest.TEXT, "<p>", EncodedTest.TEXT)
+                        .getBytes(charset)
+                )
+            );
+        }
+    }
+
+    /**
+     * Should replace unpaired surrogates.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldReplaceUnpairedSurrogates() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final Encoded output = new Encoded(stream, StandardCharsets.UTF_8);
+        output.append("\ud83dx\ude00y");
+        output.flush();
+        MatcherAssert.assertThat(
+            new String(stream.toByteArray(), StandardCharsets.UTF_8),
+            Matchers.is("?x?y")
+        );
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import com.github.piotrkot.mustache.bytecode.Generated;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for Gathered class.
+ *
+ * @since 1.4
+ */
+final class GatheredTest {
+    /**
+     * Should write the same as supplied string.
+     *
+     * @param dir Temporary directory.
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldWriteToChannel(@TempDir final Path dir) throws Exception {
+        final String content = String.join(
+            "",
+            String.join("", Collections.nCopies(100, "<żółw>")),
+            "{{#l}}<i>{{v}}</i>{{/l}}"
+        );
+        final MapOf<CharSequence, Object> pairs = new MapOf<>(
+            "l", new ListOf<>(new MapOf<>("v", "ą"), new MapOf<>("v", "😀"))
+        );
+        final Template[] templates = {
+            new Mustache(content), new Mustache(content, new Generated()),
+        };
+        for (final Template template : templates) {
+            final Path path = dir.resolve("out.html");
+            try (Gathered output = new Gathered(
+                FileChannel.open(
+                    path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING
+                )
+            )) {
+                template.supply(pairs, output);
+            }
+            MatcherAssert.assertThat(
+                new String(Files.readAllBytes(path), StandardCharsets.UTF_8),
+                Matchers.is(template.supply(pairs))
+            );
+        }
+    }
+
+    /**
+     * Should refuse channel in non-blocking mode.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldRefuseNonBlocking() throws Exception {
+        final Pipe pipe = Pipe.open();
+        pipe.sink().configureBlocking(false);
+        try (Pipe.SourceChannel source = pipe.source();
+            Pipe.SinkChannel sink = pipe.sink()) {
+            final Gathered output = new Gathered(sink);
+            new Mustache("{{v}}").supply(new MapOf<>("v", "x"), output);
+            Assertions.assertThrows(IOException.class, output::flush);
+        }
+    }
+}
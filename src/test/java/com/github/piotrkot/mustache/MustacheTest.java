@@ -24,6 +24,9 @@
 package com.github.piotrkot.mustache;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Collections;
 import org.cactoos.list.ListOf;
@@ -103,4 +106,63 @@ final class MustacheTest {
             Matchers.is("injinj")
         );
     }
+
+    /**
+     * Should supply partial with section item variables.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldSupplyPartialWithItemVariables() throws Exception {
+        MatcherAssert.assertThat(
+            new Mustache("{{#rows}}{{>row}}{{/rows}}").supply(
+                new MapOf<CharSequence, Object>(
+                    new MapEntry<>("row", "<{{cell}}>"),
+                    new MapEntry<>(
+                        "rows",
+                        new ListOf<>(
+                            new MapOf<CharSequence, Object>("cell", "a"),
+                            new MapOf<CharSequence, Object>("cell", "b")
+                        )
+                    )
+                )
+            ),
+            Matchers.is("<a><b>")
+        );
+    }
+
+    /**
+     * Should supply into appendable.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldSupplyToAppendable() throws Exception {
+        final StringWriter writer = new StringWriter();
+        new Mustache("{{#l}}[{{c}}]{{/l}}").supply(
+            new MapOf<>(
+                "l",
+                new ListOf<>(new MapOf<>("c", "1"), new MapOf<>("c", "2"))
+            ),
+            writer
+        );
+        MatcherAssert.assertThat(writer.toString(), Matchers.is("[1][2]"));
+    }
+
+    /**
+     * Should supply into stream.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldSupplyToStream() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new Mustache("zażółć {{d}}").supply(
+            new MapOf<>("d", "gęślą"), stream, StandardCharsets.UTF_8
+        );
+        MatcherAssert.assertThat(
+            new String(stream.toByteArray(), StandardCharsets.UTF_8),
+            Matchers.is("zażółć gęślą")
+        );
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.cactoos.list.ListOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Reused class.
+ * @since 1.4
+ */
+final class ReusedTest {
+    /**
+     * Template.
+     */
+    private static final Template TEMPLATE = new Mustache(
+        "{{#rows}}<p>{{name}} {{count}}</p>{{/rows}}{{^rows}}none{{/rows}}"
+    );
+
+    /**
+     * Should render into reused buffer.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldReuseBuffer() throws Exception {
+        final Reused reused = new Reused(ReusedTest.TEMPLATE);
+        final AtomicInteger calls = new AtomicInteger();
+        final Map<CharSequence, Object> pairs = ReusedTest.pairs(calls);
+        final CharSequence first = reused.supply(pairs);
+        MatcherAssert.assertThat(
+            first.toString(),
+            Matchers.is("<p>ann 1</p><p>ann 1</p>")
+        );
+        final CharSequence second = reused.supply(ReusedTest.empty());
+        MatcherAssert.assertThat(second, Matchers.sameInstance(first));
+        MatcherAssert.assertThat(second.toString(), Matchers.is("none"));
+        reused.supply(pairs);
+        MatcherAssert.assertThat(calls.get(), Matchers.is(2));
+    }
+
+    /**
+     * Should render into buffer of caller.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderIntoCallerBuffer() throws Exception {
+        final StringBuilder buffer = new StringBuilder("stale");
+        new Reused(ReusedTest.TEMPLATE).supply(ReusedTest.empty(), buffer);
+        MatcherAssert.assertThat(buffer.toString(), Matchers.is("none"));
+    }
+
+    /**
+     * Pairs with no rows.
+     * @return Pairs.
+     */
+    private static Map<CharSequence, Object> empty() {
+        final Map<CharSequence, Object> pairs = new HashMap<>(1);
+        pairs.put("rows", new ListOf<>());
+        return pairs;
+    }
+
+    /**
+     * Pairs with lazy value counting computations.
+     * @param calls Computations.
+     * @return Pairs.
+     */
+    private static Map<CharSequence, Object> pairs(final AtomicInteger calls) {
+        final Map<CharSequence, Object> row = new HashMap<>(1);
+        row.put("name", "ann");
+        final Map<CharSequence, Object> pairs = new HashMap<>(2);
+        pairs.put("rows", new ListOf<>(row, row));
+        pairs.put(
+            "count",
+            (Supplier<Integer>) calls::incrementAndGet
+        );
+        return pairs;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for Streamed class.
+ *
+ * @since 1.4
+ */
+final class StreamedTest {
+    /**
+     * Should render the same as template read at once, however read.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldRenderAsMustache() throws Exception {
+        final Map<CharSequence, Object> pairs = new MapOf<>(
+            new MapEntry<>("a", "A"),
+            new MapEntry<>("b", true),
+            new MapEntry<>(
+                "l", new ListOf<>(new MapOf<>("c", "1"), new MapOf<>("c", "2"))
+            ),
+            new MapEntry<>("p", "<{{a}}>")
+        );
+        final String[] templates = {
+            "plain text only",
+            "x{{a}}y{{ a }}z{{",
+            "{{#l}}[{{c}}{{#b}}!{{/b}}]{{/l}} {{^e}}none{{/e}}",
+            "{{#l}}{{#l}}{{c}}{{/l}}{{/l}}-{{a}}",
+            "{{/b}}{{#b}}open {{a}} {{#e}}x{{/b}} after",
+            "{{#b}} never closed {{a}}",
+            "{ {{x {{a}}} }} {{>p}}",
+            "{{/b}}z{{/b}}",
+        };
+        for (final String template : templates) {
+            final StringBuilder output = new StringBuilder();
+            new Streamed(
+                new Delimiters("{{", "}}"),
+                new StreamedTest.Trickle(template)
+            ).supply(pairs, output);
+            MatcherAssert.assertThat(
+                template,
+                output.toString(),
+                Matchers.is(new Mustache(template).supply(pairs))
+            );
+        }
+    }
+
+    /**
+     * Should render start delimiter never closed as text.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldRenderUnclosedAsText() throws Exception {
+        final StringBuilder text = new StringBuilder("{{");
+        for (int idx = 0; idx < 100_000; idx += 1) {
+            text.append('a');
+        }
+        final String template = text.append("{{a}}").toString();
+        final StringBuilder output = new StringBuilder();
+        new Streamed(new Delimiters("{{", "}}"), new StringReader(template))
+            .supply(new MapOf<>("a", "A"), output);
+        MatcherAssert.assertThat(
+            output.toString(),
+            Matchers.is(template.replace("{{a}}", "A"))
+        );
+    }
+
+    /**
+     * Should render large file through memory mapping.
+     *
+     * @param dir Temporary directory.
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldRenderMappedFile(@TempDir final Path dir) throws Exception {
+        final String template = String.join(
+            "", Collections.nCopies(150_000, "żółw {{#l}}{{c}}{{/l}}\n")
+        );
+        final Path path = dir.resolve("large.mustache");
+        Files.write(path, template.getBytes(StandardCharsets.UTF_8));
+        final Map<CharSequence, Object> pairs = new MapOf<>(
+            "l", new ListOf<>(new MapOf<>("c", "1"), new MapOf<>("c", "2"))
+        );
+        final StringBuilder output = new StringBuilder();
+        new Streamed(new Delimiters("{{", "}}"), path).supply(pairs, output);
+        MatcherAssert.assertThat(
+            output.toString(),
+            Matchers.is(new Mustache(template).supply(pairs))
+        );
+    }
+
+    /**
+     * Should render template from channel.
+     *
+     * @throws Exception When fails.
+     */
+    @Test
+    void shouldRenderFromChannel() throws Exception {
+        final StringBuilder output = new StringBuilder();
+        new Streamed(
+            new Delimiters("[[", "]]"),
+            Channels.newChannel(
+                new ByteArrayInputStream(
+                    "żółw [[a]]".getBytes(StandardCharsets.UTF_8)
+                )
+            ),
+            StandardCharsets.UTF_8
+        ).supply(new MapOf<>("a", "ą"), output);
+        MatcherAssert.assertThat(output.toString(), Matchers.is("żółw ą"));
+    }
+
+    /**
+     * Reader returning few chars at once.
+     *
+     * @since 1.4
+     */
+    private static final class Trickle extends FilterReader {
+        /**
+         * Constructor.
+         * @param text Text to read.
+         */
+        Trickle(final String text) {
+            super(new StringReader(text));
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len)
+            throws IOException {
+            return super.read(cbuf, off, Math.min(len, 3));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for Templates class.
+ * @since 1.4
+ */
+final class TemplatesTest {
+    /**
+     * Should compile template once.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldCacheTemplate(@TempDir final Path dir) throws Exception {
+        final Path path = TemplatesTest.write(dir.resolve("a"), "A{{x}}");
+        final Templates templates = new Templates(new Mustache(""), 1024);
+        templates.template(path);
+        MatcherAssert.assertThat(
+            templates.template(path).supply(new MapOf<>("x", "1")),
+            Matchers.is("A1")
+        );
+        MatcherAssert.assertThat(templates.hits(), Matchers.is(1L));
+        MatcherAssert.assertThat(templates.misses(), Matchers.is(1L));
+    }
+
+    /**
+     * Should compile template again when file changes.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRecompileChanged(@TempDir final Path dir) throws Exception {
+        final Path path = TemplatesTest.write(dir.resolve("b"), "B{{x}}");
+        final Templates templates = new Templates(new Mustache(""), 1024);
+        templates.template(path);
+        TemplatesTest.write(path, "BB{{x}}");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0));
+        MatcherAssert.assertThat(
+            templates.template(path).supply(new MapOf<>("x", "2")),
+            Matchers.is("BB2")
+        );
+        MatcherAssert.assertThat(templates.misses(), Matchers.is(2L));
+        MatcherAssert.assertThat(templates.size(), Matchers.is(7L));
+    }
+
+    /**
+     * Should evict least recently used templates.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldEvictLeastRecent(@TempDir final Path dir) throws Exception {
+        final Path first = TemplatesTest.write(dir.resolve("c"), "1234");
+        final Path second = TemplatesTest.write(dir.resolve("d"), "5678");
+        final Path third = TemplatesTest.write(dir.resolve("e"), "9012");
+        final Templates templates = new Templates(new Mustache(""), 8);
+        templates.template(first);
+        templates.template(second);
+        templates.template(first);
+        templates.template(third);
+        templates.template(first);
+        MatcherAssert.assertThat(templates.evictions(), Matchers.is(1L));
+        MatcherAssert.assertThat(templates.hits(), Matchers.is(2L));
+        templates.template(second);
+        MatcherAssert.assertThat(templates.misses(), Matchers.is(4L));
+    }
+
+    /**
+     * Should compile once for concurrent requests.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldCompileOnce(@TempDir final Path dir) throws Exception {
+        final Path path = TemplatesTest.write(dir.resolve("f"), "F{{x}}");
+        final Templates templates = new Templates(new Mustache(""), 1024);
+        final ExecutorService service = Executors.newFixedThreadPool(8);
+        final List<Callable<Template>> tasks = new ArrayList<>(0);
+        for (int idx = 0; idx < 32; idx += 1) {
+            tasks.add(() -> templates.template(path));
+        }
+        for (final Future<Template> future : service.invokeAll(tasks)) {
+            MatcherAssert.assertThat(
+                future.get().supply(new MapOf<>("x", "3")),
+                Matchers.is("F3")
+            );
+        }
+        service.shutdown();
+        MatcherAssert.assertThat(templates.misses(), Matchers.is(1L));
+    }
+
+    /**
+     * Should fail every request of template failing to compile.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldFailBrokenCompilation(@TempDir final Path dir)
+        throws Exception {
+        final Path path = TemplatesTest.write(dir.resolve("g"), "G{{x}}");
+        @SuppressWarnings("unchecked")
+        final Target<Node> broken = (Target<Node>) Proxy.newProxyInstance(
+            Thread.currentThread().getContextClassLoader(),
+            new Class<?>[] {Target.class},
+            (proxy, method, args) -> {
+                throw new IllegalStateException("broken");
+            }
+        );
+        final Templates templates = new Templates(
+            new Mustache(""), 1024, broken
+        );
+        Assertions.assertTimeoutPreemptively(
+            Duration.ofSeconds(10),
+            () -> {
+                Assertions.assertThrows(
+                    IOException.class, () -> templates.template(path)
+                );
+                Assertions.assertThrows(
+                    IOException.class, () -> templates.template(path)
+                );
+            }
+        );
+        MatcherAssert.assertThat(templates.size(), Matchers.is(0L));
+    }
+
+    /**
+     * Should cache template by normalized path.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldNormalizePath(@TempDir final Path dir) throws Exception {
+        final Path path = TemplatesTest.write(dir.resolve("h"), "H{{x}}");
+        Files.createDirectory(dir.resolve("sub"));
+        final Templates templates = new Templates(new Mustache(""), 1024);
+        templates.template(path);
+        templates.template(dir.resolve("sub").resolve("..").resolve("h"));
+        MatcherAssert.assertThat(templates.misses(), Matchers.is(1L));
+        MatcherAssert.assertThat(templates.size(), Matchers.is(6L));
+    }
+
+    /**
+     * Writes file.
+     * @param path Path.
+     * @param content Content.
+     * @return Path.
+     * @throws Exception If fails.
+     */
+    private static Path write(final Path path, final String content)
+        throws Exception {
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Tokens class.
+ * @since 1.4
+ */
+final class TokensTest {
+    /**
+     * Should find all tags in order.
+     */
+    @Test
+    void shouldFindTags() {
+        MatcherAssert.assertThat(
+            TokensTest.names(
+                new Tokens(
+                    new Mustache(""),
+                    "{{a}} {{ #b }}{{^ c}}{{/ c }}{{/b}}{{ > d.e_1 }}"
+                )
+            ),
+            Matchers.is("VARIABLE:a SECTION:b INV_SECTION:c CLOSING:c CLOSING:b PARTIAL:d.e_1")
+        );
+    }
+
+    /**
+     * Should skip text which is not a tag.
+     */
+    @Test
+    void shouldSkipInvalidTags() {
+        MatcherAssert.assertThat(
+            TokensTest.names(
+                new Tokens(
+                    new Mustache(""),
+                    "{{{x}} {{a b}} {{}} {{#}} {{!c}} {{-}} {{y}"
+                )
+            ),
+            Matchers.is("VARIABLE:x")
+        );
+    }
+
+    /**
+     * Should find tags with special delimiters.
+     */
+    @Test
+    void shouldFindWithSpecialDelimiters() {
+        MatcherAssert.assertThat(
+            TokensTest.names(
+                new Tokens(
+                    new DollarIndicate(),
+                    "$($(a)* $(#b)*)*$(/b)* $(c)"
+                )
+            ),
+            Matchers.is("VARIABLE:a SECTION:b CLOSING:b")
+        );
+    }
+
+    /**
+     * Should find tag positions.
+     */
+    @Test
+    void shouldFindPositions() {
+        MatcherAssert.assertThat(
+            new Tokens(new Mustache(""), "ab{{ x }}c").list().get(0).end(),
+            Matchers.is(9)
+        );
+    }
+
+    /**
+     * Kinds and names of tags.
+     * @param tokens Tags.
+     * @return Text.
+     */
+    private static String names(final Tokens tokens) {
+        return tokens.list().stream()
+            .map(token -> String.format("%s:%s", token.kind(), token.name()))
+            .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Tag indicate with delimiters being regex special chars.
+     * @since 1.4
+     */
+    private static final class DollarIndicate implements TagIndicate {
+        @Override
+        public String start() {
+            return "$(";
+        }
+
+        @Override
+        public String end() {
+            return ")*";
+        }
+
+        @Override
+        public String safeStart() {
+            return "\\$\\(";
+        }
+
+        @Override
+        public String safeEnd() {
+            return "\\)\\*";
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Tree class.
+ * @since 1.4
+ */
+final class TreeTest {
+    /**
+     * Should compile all tags.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldCompileAllTags() throws Exception {
+        final StringBuilder result = new StringBuilder();
+        new Tree(
+            new Mustache(""),
+            "{{a}} {{#b}}{{c}}{{/b}} {{^d}}-{{/d}} {{>e}}"
+        ).compile().render(
+            new MapOf<CharSequence, Object>(
+                new MapEntry<>("a", "A"),
+                new MapEntry<>(
+                    "b",
+                    new ListOf<>(
+                        new MapOf<CharSequence, Object>("c", "1"),
+                        new MapOf<CharSequence, Object>("c", "2")
+                    )
+                ),
+                new MapEntry<>("d", false),
+                new MapEntry<>("e", "E{{a}}")
+            ),
+            result
+        );
+        MatcherAssert.assertThat(
+            result.toString(),
+            Matchers.is("A 12 - EA")
+        );
+    }
+
+    /**
+     * Should render compiled tree many times.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderManyTimes() throws Exception {
+        final Node node = new Tree(new Mustache(""), "<{{x}}>").compile();
+        final StringBuilder result = new StringBuilder();
+        node.render(new MapOf<>("x", "1"), result);
+        node.render(new MapOf<>("x", "2"), result);
+        MatcherAssert.assertThat(result.toString(), Matchers.is("<1><2>"));
+    }
+
+    /**
+     * Should leave unbalanced sections as text.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldLeaveUnbalancedSections() throws Exception {
+        final StringBuilder result = new StringBuilder();
+        new Tree(
+            new Mustache(""),
+            "{{/z}}{{#a}}{{#b}}{{x}}{{/a}}{{^c}}"
+        ).compile().render(
+            new MapOf<CharSequence, Object>(
+                new MapEntry<>("a", true),
+                new MapEntry<>("c", false),
+                new MapEntry<>("x", "X")
+            ),
+            result
+        );
+        MatcherAssert.assertThat(
+            result.toString(),
+            Matchers.is("{{/z}}{{#b}}X{{^c}}")
+        );
+    }
+
+    /**
+     * Should leave stray closing tags as text.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldLeaveStrayClosers() throws Exception {
+        final String content = "{{/b}}z{{/b}}";
+        for (final boolean value : new boolean[] {false, true}) {
+            final StringBuilder result = new StringBuilder();
+            new Tree(new Mustache(""), content).compile().render(
+                new MapOf<CharSequence, Object>("b", value), result
+            );
+            MatcherAssert.assertThat(result.toString(), Matchers.is(content));
+        }
+    }
+
+    /**
+     * Should compile only given kinds.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldCompileGivenKinds() throws Exception {
+        final StringBuilder result = new StringBuilder();
+        new Tree(
+            new Mustache(""),
+            "{{a}}{{>p}}{{#s}}{{a}}{{/s}}",
+            EnumSet.of(Kind.VARIABLE)
+        ).compile().render(
+            new MapOf<CharSequence, Object>(
+                new MapEntry<>("a", "A"),
+                new MapEntry<>("p", "P"),
+                new MapEntry<>("s", Collections.emptyList())
+            ),
+            result
+        );
+        MatcherAssert.assertThat(
+            result.toString(),
+            Matchers.is("A{{>p}}{{#s}}A{{/s}}")
+        );
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache;
+
+import java.util.regex.Pattern;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Unquoted class.
+ *
+ * @since 1.4
+ */
+final class UnquotedTest {
+    /**
+     * Should unquote strings quoted by pattern.
+     */
+    @Test
+    void shouldUnquoteQuoted() {
+        for (final String text : new String[] {"{{", "<%\\E%>", "", "\\Q"}) {
+            MatcherAssert.assertThat(
+                new Unquoted(Pattern.quote(text)).value(),
+                Matchers.is(text)
+            );
+        }
+    }
+
+    /**
+     * Should unescape strings escaped by backslash.
+     */
+    @Test
+    void shouldUnescape() {
+        MatcherAssert.assertThat(
+            new Unquoted("\\[\\[\\\\").value(),
+            Matchers.is("[[\\")
+        );
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.binary;
+
+import com.github.piotrkot.mustache.Delimiters;
+import com.github.piotrkot.mustache.Mustache;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for Precompiled class.
+ * @since 1.4
+ */
+final class PrecompiledTest {
+    /**
+     * Template content.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "Zażółć {{name}}! {{#rows}}<{{cell}}>{{/rows}}",
+        "{{^none}}-{{/none}} {{>prtl}} {{#open}}"
+    );
+
+    /**
+     * Should supply same as compiled from source.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldSupplyAsSource(@TempDir final Path dir) throws Exception {
+        final Path source = PrecompiledTest.source(dir);
+        final Path binary = dir.resolve("tmpl.bin");
+        new Precompiled(new Delimiters("{{", "}}"), source, binary).compiled();
+        MatcherAssert.assertThat(
+            new Precompiled(
+                new Delimiters("{{", "}}"), source, binary
+            ).supply(PrecompiledTest.pairs()),
+            Matchers.is(
+                new Mustache(PrecompiledTest.CONTENT)
+                    .supply(PrecompiledTest.pairs())
+            )
+        );
+    }
+
+    /**
+     * Should load binary file without reading tags.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldLoadBinary(@TempDir final Path dir) throws Exception {
+        final Path source = PrecompiledTest.source(dir);
+        final Path binary = dir.resolve("load.bin");
+        new Precompiled(new Delimiters("{{", "}}"), source, binary).compiled();
+        final byte[] bytes = Files.readAllBytes(binary);
+        new Precompiled(new Delimiters("{{", "}}"), source, binary).compiled();
+        MatcherAssert.assertThat(
+            Files.readAllBytes(binary),
+            Matchers.is(bytes)
+        );
+    }
+
+    /**
+     * Should compile again when source changes.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRecompileChanged(@TempDir final Path dir) throws Exception {
+        final Path source = PrecompiledTest.source(dir);
+        final Path binary = dir.resolve("changed.bin");
+        new Precompiled(new Delimiters("{{", "}}"), source, binary).compiled();
+        Files.write(source, "new {{name}}".getBytes(StandardCharsets.UTF_8));
+        MatcherAssert.assertThat(
+            new Precompiled(
+                new Delimiters("{{", "}}"), source, binary
+            ).supply(PrecompiledTest.pairs()),
+            Matchers.is("new John")
+        );
+    }
+
+    /**
+     * Should compile again when binary is broken or of other delimiters.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRecompileBroken(@TempDir final Path dir) throws Exception {
+        final Path source = PrecompiledTest.source(dir);
+        final Path binary = dir.resolve("broken.bin");
+        new Precompiled(new Delimiters("[[", "]]"), source, binary).compiled();
+        MatcherAssert.assertThat(
+            new Precompiled(
+                new Delimiters("{{", "}}"), source, binary
+            ).supply(PrecompiledTest.pairs()),
+            Matchers.startsWith("Zażółć John!")
+        );
+        Files.write(binary, new byte[] {1, 2, 3});
+        MatcherAssert.assertThat(
+            new Precompiled(
+                new Delimiters("{{", "}}"), source, binary
+            ).supply(PrecompiledTest.pairs()),
+            Matchers.startsWith("Zażółć John!")
+        );
+    }
+
+    /**
+     * Should compile again when binary is truncated after its header.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRecompileTruncated(@TempDir final Path dir) throws Exception {
+        final Path source = PrecompiledTest.source(dir);
+        final Path binary = dir.resolve("cut.bin");
+        new Precompiled(new Delimiters("{{", "}}"), source, binary).compiled();
+        final byte[] bytes = Files.readAllBytes(binary);
+        Files.write(binary, Arrays.copyOf(bytes, bytes.length - 8));
+        MatcherAssert.assertThat(
+            new Precompiled(
+                new Delimiters("{{", "}}"), source, binary
+            ).supply(PrecompiledTest.pairs()),
+            Matchers.startsWith("Zażółć John!")
+        );
+        MatcherAssert.assertThat(Files.readAllBytes(binary), Matchers.is(bytes));
+        try (Stream<Path> files = Files.list(dir)) {
+            MatcherAssert.assertThat(files.count(), Matchers.is(2L));
+        }
+    }
+
+    /**
+     * Should not read source of unchanged size and modification time.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldTrustStamp(@TempDir final Path dir) throws Exception {
+        final Path source = Files.write(
+            dir.resolve("stamp.mustache"),
+            "old {{name}}".getBytes(StandardCharsets.UTF_8)
+        );
+        final FileTime time = Files.getLastModifiedTime(source);
+        final Path binary = dir.resolve("stamp.bin");
+        new Precompiled(new Delimiters("{{", "}}"), source, binary).compiled();
+        Files.write(source, "new {{name}}".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(source, time);
+        MatcherAssert.assertThat(
+            new Precompiled(
+                new Delimiters("{{", "}}"), source, binary
+            ).supply(PrecompiledTest.pairs()),
+            Matchers.is("old John")
+        );
+    }
+
+    /**
+     * Should fill context of dotted names like the source template.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldFillDottedContext(@TempDir final Path dir) throws Exception {
+        final Path source = Files.write(
+            dir.resolve("dotted.mustache"),
+            "Hi {{user.name}}!".getBytes(StandardCharsets.UTF_8)
+        );
+        final Path binary = dir.resolve("dotted.bin");
+        new Precompiled(new Delimiters("{{", "}}"), source, binary).compiled();
+        final Precompiled loaded = new Precompiled(
+            new Delimiters("{{", "}}"), source, binary
+        );
+        MatcherAssert.assertThat(
+            loaded.supply(
+                loaded.context().set("user", new MapOf<>("name", "Ann"))
+            ),
+            Matchers.is("Hi Ann!")
+        );
+    }
+
+    /**
+     * Writes template source.
+     * @param dir Directory.
+     * @return Source path.
+     * @throws Exception If fails.
+     */
+    private static Path source(final Path dir) throws Exception {
+        return Files.write(
+            dir.resolve("tmpl.mustache"),
+            PrecompiledTest.CONTENT.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Template variables.
+     * @return Variables.
+     */
+    private static Map<CharSequence, Object> pairs() {
+        return new MapOf<>(
+            new MapEntry<>("name", "John"),
+            new MapEntry<>("prtl", "[{{name}}]"),
+            new MapEntry<>(
+                "rows",
+                new ListOf<>(
+                    new MapOf<CharSequence, Object>("cell", "a"),
+                    new MapOf<CharSequence, Object>("cell", "b")
+                )
+            ),
+            new MapEntry<>("none", false)
+        );
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.bytecode;
+
+import com.github.piotrkot.mustache.Mustache;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Generated class.
+ * @since 1.4
+ */
+final class GeneratedTest {
+    /**
+     * Should supply same as interpreted template.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldSupplyAsInterpreted() throws Exception {
+        final String content = String.join(
+            "",
+            "Hi {{name}}! {{#rows}}<{{cell}}{{^last}}, {{/last}}>{{/rows}}",
+            "{{missing}} {{>prtl}} {{#open}} {{/close}}"
+        );
+        final Map<CharSequence, Object> pairs = new MapOf<>(
+            new MapEntry<>("name", "John"),
+            new MapEntry<>("prtl", "[{{name}}]"),
+            new MapEntry<>(
+                "rows",
+                new ListOf<>(
+                    new MapOf<CharSequence, Object>(
+                        new MapEntry<>("cell", "a"),
+                        new MapEntry<>("last", false)
+                    ),
+                    new MapOf<CharSequence, Object>(
+                        new MapEntry<>("cell", "b"),
+                        new MapEntry<>("last", true)
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            new Mustache(content, new Generated()).supply(pairs),
+            Matchers.is(new Mustache(content).supply(pairs))
+        );
+    }
+
+    /**
+     * Should supply template exceeding class limits.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldSupplyLargeTemplate() throws Exception {
+        final StringBuilder content = new StringBuilder(0);
+        for (int idx = 0; idx < 3000; idx += 1) {
+            content.append("{{v}}-");
+        }
+        content.append(String.join("", Collections.nCopies(70_000, "x")));
+        MatcherAssert.assertThat(
+            new Mustache(content.toString(), new Generated()).supply(
+                new MapOf<>("v", "1")
+            ).length(),
+            Matchers.is(76_000)
+        );
+    }
+
+    /**
+     * Should supply encoded texts to stream.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldSupplyToStream() throws Exception {
+        final String content = "zażółć 😀 {{v}} gęślą";
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new Mustache(content, new Generated()).supply(
+            new MapOf<>("v", "jaźń"), stream, StandardCharsets.UTF_8
+        );
+        MatcherAssert.assertThat(
+            new String(stream.toByteArray(), StandardCharsets.UTF_8),
+            Matchers.is("zażółć 😀 jaźń gęślą")
+        );
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.metrics;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Histogram class.
+ * @since 1.4
+ */
+final class HistogramTest {
+    /**
+     * Should bound quantiles by powers of two.
+     */
+    @Test
+    void shouldBoundQuantiles() {
+        final Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100; value += 1) {
+            histogram.add(value);
+        }
+        MatcherAssert.assertThat(histogram.count(), Matchers.is(100L));
+        MatcherAssert.assertThat(histogram.sum(), Matchers.is(5050L));
+        MatcherAssert.assertThat(histogram.quantile(0.5), Matchers.is(63L));
+        MatcherAssert.assertThat(histogram.quantile(1), Matchers.is(100L));
+        MatcherAssert.assertThat(histogram.quantile(0), Matchers.is(1L));
+    }
+
+    /**
+     * Should answer zero when empty.
+     */
+    @Test
+    void shouldAnswerZeroWhenEmpty() {
+        MatcherAssert.assertThat(
+            new Histogram().quantile(0.99),
+            Matchers.is(0L)
+        );
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.metrics;
+
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.Target;
+import com.github.piotrkot.mustache.bytecode.Generated;
+import com.github.piotrkot.mustache.nodes.Interpreted;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Metrics class.
+ * @since 1.4
+ */
+final class MetricsTest {
+    /**
+     * Template content.
+     */
+    private static final String CONTENT =
+        "{{name}}:{{#rows}}{{>row}}{{/rows}}{{gone}}{{^gone}}-{{/gone}}";
+
+    /**
+     * Should count tags of interpreted template.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldCountInterpretedTags() throws Exception {
+        MetricsTest.assertCounted(new Interpreted());
+    }
+
+    /**
+     * Should count tags of generated template.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldCountGeneratedTags() throws Exception {
+        MetricsTest.assertCounted(new Generated());
+    }
+
+    /**
+     * Should keep templates apart.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldKeepTemplatesApart() throws Exception {
+        final Metrics metrics = new Metrics();
+        new Mustache("{{a}}", new Interpreted(), metrics.listener("first"))
+            .supply(new MapOf<CharSequence, Object>("a", "x"));
+        new Mustache("{{b}}", new Interpreted(), metrics.listener("second"))
+            .supply(new MapOf<CharSequence, Object>("a", "x"));
+        MatcherAssert.assertThat(
+            metrics.stats().get("first").counters(),
+            Matchers.allOf(
+                Matchers.hasEntry("variables", 1L),
+                Matchers.hasEntry("missing", 0L)
+            )
+        );
+        MatcherAssert.assertThat(
+            metrics.stats().get("second").counters(),
+            Matchers.allOf(
+                Matchers.hasEntry("variables", 0L),
+                Matchers.hasEntry("missing.b", 1L)
+            )
+        );
+    }
+
+    /**
+     * Should look up names no more than without metrics.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldLookUpOnce() throws Exception {
+        final String content = "{{a}}{{#l}}{{a}}{{/l}}{{gone}}";
+        MatcherAssert.assertThat(
+            MetricsTest.lookups(
+                new Mustache(
+                    content, new Interpreted(),
+                    new Metrics().listener("counted")
+                )
+            ),
+            Matchers.is(MetricsTest.lookups(new Mustache(content)))
+        );
+    }
+
+    /**
+     * Renders template twice and checks metrics.
+     * @param target Compilation target.
+     * @throws Exception If fails.
+     */
+    private static void assertCounted(final Target<Node> target)
+        throws Exception {
+        final Metrics metrics = new Metrics();
+        final Mustache mustache = new Mustache(
+            MetricsTest.CONTENT, target, metrics.listener("page")
+        );
+        final Map<CharSequence, Object> pairs = new MapOf<>(
+            new MapEntry<>("name", "n"),
+            new MapEntry<>("row", "<{{cell}}>"),
+            new MapEntry<>(
+                "rows",
+                new ListOf<>(
+                    new MapOf<CharSequence, Object>("cell", "a"),
+                    new MapOf<CharSequence, Object>("cell", "b")
+                )
+            )
+        );
+        MatcherAssert.assertThat(mustache.supply(pairs), Matchers.is("n:<a><b>"));
+        mustache.supply(pairs);
+        final Stats stats = metrics.stats().get("page");
+        MatcherAssert.assertThat(
+            stats.counters(),
+            Matchers.allOf(
+                Matchers.hasEntry("variables", 2L),
+                Matchers.hasEntry("iterations", 4L),
+                Matchers.hasEntry("partials", 4L),
+                Matchers.hasEntry("missing", 4L),
+                Matchers.hasEntry("missing.gone", 4L)
+            )
+        );
+        MatcherAssert.assertThat(
+            stats.histograms().get("compile.nanos").count(),
+            Matchers.is(1L)
+        );
+        MatcherAssert.assertThat(
+            stats.histograms().get("render.nanos").count(),
+            Matchers.is(2L)
+        );
+        MatcherAssert.assertThat(
+            stats.histograms().get("output.chars").sum(),
+            Matchers.is(16L)
+        );
+    }
+
+    /**
+     * Number of lookups in pairs by render of template.
+     * @param mustache Template.
+     * @return Number of lookups.
+     * @throws Exception If fails.
+     */
+    private static int lookups(final Mustache mustache) throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        mustache.supply(
+            new HashMap<CharSequence, Object>(
+                new MapOf<CharSequence, Object>(
+                    new MapEntry<>("a", "x"),
+                    new MapEntry<>("l", new ListOf<>(new HashMap<>(0)))
+                )
+            ) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public Object get(final Object key) {
+                    count.incrementAndGet();
+                    return super.get(key);
+                }
+
+                @Override
+                public boolean containsKey(final Object key) {
+                    count.incrementAndGet();
+                    return super.containsKey(key);
+                }
+            }
+        );
+        return count.get();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.Template;
+import com.github.piotrkot.mustache.bytecode.Generated;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.cactoos.list.ListOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Async class.
+ * @since 1.4
+ */
+final class AsyncTest {
+    /**
+     * Template with values completed later.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "{{user}}:{{now}}:",
+        "{{#orders}}[{{id}}]{{/orders}}{{^orders}}none{{/orders}}"
+    );
+
+    /**
+     * Should render fragments as values complete.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderAsValuesComplete() throws Exception {
+        final Template[] templates = {
+            new Mustache(AsyncTest.CONTENT),
+            new Mustache(AsyncTest.CONTENT, new Generated()),
+        };
+        for (final Template template : templates) {
+            final AtomicInteger calls = new AtomicInteger();
+            final CompletableFuture<Object> user = new CompletableFuture<>();
+            final CompletableFuture<Object> orders = new CompletableFuture<>();
+            final Map<CharSequence, Object> pairs = new HashMap<>(3);
+            pairs.put("user", user);
+            pairs.put("orders", orders);
+            pairs.put(
+                "now",
+                (Supplier<String>) () -> {
+                    calls.incrementAndGet();
+                    return "12:00";
+                }
+            );
+            final CompletableFuture<String> result =
+                template.supplyAsync(pairs);
+            MatcherAssert.assertThat(result.isDone(), Matchers.is(false));
+            orders.complete(
+                new ListOf<>(
+                    AsyncTest.order(CompletableFuture.completedFuture("1")),
+                    AsyncTest.order(CompletableFuture.completedFuture("2"))
+                )
+            );
+            MatcherAssert.assertThat(result.isDone(), Matchers.is(false));
+            user.complete("ann");
+            MatcherAssert.assertThat(
+                result.get(),
+                Matchers.is("ann:12:00:[1][2]")
+            );
+            MatcherAssert.assertThat(calls.get(), Matchers.is(1));
+        }
+    }
+
+    /**
+     * Should render fragments of generated template apart.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldSplitGenerated() throws Exception {
+        final AtomicInteger renders = new AtomicInteger();
+        final Generated target = new Generated();
+        final Node root = target.sequence(
+            new ListOf<>(
+                (pairs, output) -> {
+                    renders.incrementAndGet();
+                    output.append('a');
+                },
+                target.variable("late")
+            )
+        );
+        final CompletableFuture<Object> late = new CompletableFuture<>();
+        final Map<CharSequence, Object> pairs = new HashMap<>(1);
+        pairs.put("late", late);
+        final CompletableFuture<String> result = new Async(root).supply(pairs);
+        late.complete("b");
+        MatcherAssert.assertThat(result.get(), Matchers.is("ab"));
+        MatcherAssert.assertThat(renders.get(), Matchers.is(1));
+    }
+
+    /**
+     * Should wait for all values of fragment at once.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldAwaitValuesAtOnce() throws Exception {
+        final int count = 64;
+        final Interpreted target = new Interpreted();
+        final List<Node> items = new ArrayList<>(count);
+        final List<CompletableFuture<Object>> stages = new ArrayList<>(count);
+        final Map<CharSequence, Object> pairs = new HashMap<>(count);
+        for (int idx = 0; idx < count; ++idx) {
+            final String name = String.format("v%d", idx);
+            items.add(target.variable(name));
+            final CompletableFuture<Object> stage = new CompletableFuture<>();
+            stages.add(stage);
+            pairs.put(name, stage);
+        }
+        final Node body = target.sequence(items);
+        final AtomicInteger renders = new AtomicInteger();
+        final CompletableFuture<String> result = new Async(
+            (map, output) -> {
+                renders.incrementAndGet();
+                body.render(map, output);
+            }
+        ).supply(pairs);
+        for (final CompletableFuture<Object> stage : stages) {
+            stage.complete("x");
+        }
+        MatcherAssert.assertThat(result.get().length(), Matchers.is(count));
+        MatcherAssert.assertThat(renders.get(), Matchers.is(2));
+    }
+
+    /**
+     * Should fail future when value fails.
+     */
+    @Test
+    void shouldFailWithValue() {
+        final CompletableFuture<Object> user = new CompletableFuture<>();
+        final Map<CharSequence, Object> pairs = new HashMap<>(1);
+        pairs.put("user", user);
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () -> {
+                final CompletableFuture<String> result =
+                    new Mustache(AsyncTest.CONTENT).supplyAsync(pairs);
+                user.completeExceptionally(new IllegalStateException("down"));
+                result.get();
+            }
+        );
+    }
+
+    /**
+     * Should not wait for value in synchronous render.
+     */
+    @Test
+    void shouldNotWaitSynchronously() {
+        final Map<CharSequence, Object> pairs = new HashMap<>(1);
+        pairs.put("user", new CompletableFuture<>());
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new Mustache(AsyncTest.CONTENT).supply(pairs)
+        );
+    }
+
+    /**
+     * Order with identifier completed later.
+     * @param id Identifier.
+     * @return Order.
+     */
+    private static Map<CharSequence, Object> order(
+        final CompletableFuture<String> id) {
+        final Map<CharSequence, Object> order = new HashMap<>(1);
+        order.put("id", id);
+        return order;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Mustache;
+import java.nio.file.Paths;
+import javax.security.auth.Subject;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Bean class.
+ * @since 1.4
+ */
+final class BeanTest {
+    /**
+     * Should render properties of iterated objects.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderProperties() throws Exception {
+        MatcherAssert.assertThat(
+            new Mustache("{{#l}}{{name}}:{{age}}:{{active}}:{{nick}};{{/l}}")
+                .supply(
+                    new MapOf<>(
+                        "l",
+                        new ListOf<>(
+                            new BeanTest.Person("Ann", 30),
+                            new BeanTest.Person("Bob", 40)
+                        )
+                    )
+                ),
+            Matchers.is("Ann:30:true:Ann!;Bob:40:true:Bob!;")
+        );
+    }
+
+    /**
+     * Should not read properties of Java platform classes.
+     */
+    @Test
+    void shouldSkipPlatform() {
+        MatcherAssert.assertThat(
+            Bean.applies(new Subject()),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            Accessors.cached(Paths.get("a").getClass()).handle("fileName")
+                .isPresent(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            Accessors.cached(BeanTest.Person.class).handle("").isPresent(),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Should render section of single object once.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderSingleObject() throws Exception {
+        MatcherAssert.assertThat(
+            new Mustache("{{#p}}<{{name}}{{class}}{{other}}>{{/p}}{{#s}}x{{/s}}")
+                .supply(
+                    new MapOf<>(
+                        new MapEntry<>(
+                            "p", new BeanTest.Person("Ann", 1)
+                        ),
+                        new MapEntry<>("other", "O"),
+                        new MapEntry<>("s", "text")
+                    )
+                ),
+            Matchers.is("<AnnO>")
+        );
+    }
+
+    /**
+     * Should list properties.
+     */
+    @Test
+    void shouldListProperties() {
+        MatcherAssert.assertThat(
+            new Bean(new BeanTest.Person("Ann", 1)).keySet(),
+            Matchers.containsInAnyOrder("name", "age", "active", "nick")
+        );
+    }
+
+    /**
+     * Person with record style, bean style and field properties.
+     * @since 1.4
+     */
+    @SuppressWarnings("PMD.DataClass")
+    private static final class Person {
+        /**
+         * Nick.
+         * @checkstyle VisibilityModifierCheck (3 lines)
+         */
+        public final String nick;
+
+        /**
+         * Name.
+         */
+        private final String nam;
+
+        /**
+         * Age.
+         */
+        private final int years;
+
+        /**
+         * Constructor.
+         * @param name Name.
+         * @param age Age.
+         */
+        Person(final String name, final int age) {
+            this.nam = name;
+            this.years = age;
+            this.nick = String.join("", name, "!");
+        }
+
+        /**
+         * Name.
+         * @return Name.
+         */
+        public String name() {
+            return this.nam;
+        }
+
+        /**
+         * Age.
+         * @return Age.
+         */
+        public int getAge() {
+            return this.years;
+        }
+
+        /**
+         * Whether active.
+         * @return True.
+         */
+        public boolean isActive() {
+            return this.years > 0;
+        }
+    }
+}
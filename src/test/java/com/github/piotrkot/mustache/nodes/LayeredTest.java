@@ -0,0 +1,57 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Layered class.
+ * @since 1.4
+ */
+final class LayeredTest {
+    /**
+     * Should look up item before enclosing context.
+     */
+    @Test
+    void shouldLookUpItemFirst() {
+        final Map<CharSequence, Object> context = new HashMap<>(0);
+        context.put("a", "outer");
+        context.put("b", "kept");
+        final Map<String, Object> item = new HashMap<>(0);
+        item.put("a", "inner");
+        item.put("c", null);
+        final Map<CharSequence, Object> layered = new Layered(context, item);
+        context.put("d", "late");
+        MatcherAssert.assertThat(layered.get("a"), Matchers.is("inner"));
+        MatcherAssert.assertThat(layered.get("b"), Matchers.is("kept"));
+        MatcherAssert.assertThat(layered.get("d"), Matchers.is("late"));
+        MatcherAssert.assertThat(layered.containsKey("c"), Matchers.is(true));
+        MatcherAssert.assertThat(layered.containsKey("e"), Matchers.is(false));
+        MatcherAssert.assertThat(layered.size(), Matchers.is(4));
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Context;
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Slotted;
+import com.github.piotrkot.mustache.bytecode.Generated;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.cactoos.list.ListOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Memo class.
+ * @since 1.4
+ */
+final class MemoTest {
+    /**
+     * Template referencing lazy values many times.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "{{name}}{{#shown}}+{{name}}{{/shown}}{{^shown}}-{{/shown}}",
+        "{{#items}}[{{label}}{{label}}]{{/items}}"
+    );
+
+    /**
+     * Should compute lazy values once per render.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldComputeOncePerRender() throws Exception {
+        final Slotted[] templates = {
+            new Mustache(MemoTest.CONTENT),
+            new Mustache(MemoTest.CONTENT, new Generated()),
+        };
+        for (final Slotted template : templates) {
+            final AtomicInteger calls = new AtomicInteger();
+            final Map<CharSequence, Object> pairs = MemoTest.pairs(calls);
+            MatcherAssert.assertThat(
+                template.supply(pairs),
+                Matchers.is("Ann+Ann[xx][xx]")
+            );
+            MatcherAssert.assertThat(calls.get(), Matchers.is(3));
+            template.supply(pairs);
+            MatcherAssert.assertThat(calls.get(), Matchers.is(6));
+        }
+    }
+
+    /**
+     * Should compute lazy values of context once per render, leaving the
+     * context as it is.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldComputeOnceInContext() throws Exception {
+        final Slotted[] templates = {
+            new Mustache(MemoTest.CONTENT),
+            new Mustache(MemoTest.CONTENT, new Generated()),
+        };
+        for (final Slotted template : templates) {
+            final AtomicInteger calls = new AtomicInteger();
+            final Context context = template.context();
+            final Map<CharSequence, Object> pairs = MemoTest.pairs(calls);
+            for (final Map.Entry<CharSequence, Object> entry
+                : pairs.entrySet()) {
+                context.set(entry.getKey(), entry.getValue());
+            }
+            MatcherAssert.assertThat(
+                template.supply(context),
+                Matchers.is("Ann+Ann[xx][xx]")
+            );
+            MatcherAssert.assertThat(calls.get(), Matchers.is(3));
+            template.supply(context);
+            MatcherAssert.assertThat(calls.get(), Matchers.is(6));
+            MatcherAssert.assertThat(
+                context.get("shown"),
+                Matchers.instanceOf(Supplier.class)
+            );
+        }
+    }
+
+    /**
+     * Should compute lazy values on dotted path once per render.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldComputeOnceOnPath() throws Exception {
+        final String content = "{{user.name}}-{{user.name}}-{{user.name}}";
+        final Slotted[] templates = {
+            new Mustache(content),
+            new Mustache(content, new Generated()),
+        };
+        for (final Slotted template : templates) {
+            final AtomicInteger calls = new AtomicInteger();
+            final Map<CharSequence, Object> user = new HashMap<>(1);
+            user.put(
+                "name",
+                (Supplier<String>) () -> {
+                    calls.incrementAndGet();
+                    return "Ann";
+                }
+            );
+            final Map<CharSequence, Object> pairs = new HashMap<>(1);
+            pairs.put("user", (Supplier<Object>) () -> user);
+            MatcherAssert.assertThat(
+                template.supply(pairs),
+                Matchers.is("Ann-Ann-Ann")
+            );
+            MatcherAssert.assertThat(calls.get(), Matchers.is(1));
+            template.supply(pairs);
+            MatcherAssert.assertThat(calls.get(), Matchers.is(2));
+        }
+    }
+
+    /**
+     * Should not compute values never referenced.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldSkipUnreferenced() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Map<CharSequence, Object> pairs = MemoTest.pairs(calls);
+        pairs.put(
+            "unused",
+            (Supplier<String>) () -> {
+                throw new IllegalStateException("computed");
+            }
+        );
+        MatcherAssert.assertThat(
+            new Mustache("{{^shown}}-{{/shown}}").supply(pairs),
+            Matchers.is("")
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.is(1));
+    }
+
+    /**
+     * Should compute other values while one is being computed.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldNotBlockOtherValues() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Map<CharSequence, Object> pairs = new HashMap<>(2);
+        pairs.put(
+            "slow",
+            (Callable<String>) () -> {
+                started.countDown();
+                release.await();
+                return "slow";
+            }
+        );
+        pairs.put("fast", (Supplier<String>) () -> "fast");
+        final Memo memo = new Memo(pairs);
+        final CompletableFuture<Object> slow = CompletableFuture.supplyAsync(
+            () -> memo.get("slow")
+        );
+        started.await();
+        Assertions.assertTimeoutPreemptively(
+            Duration.ofSeconds(10),
+            () -> MatcherAssert.assertThat(
+                memo.get("fast"), Matchers.is("fast")
+            )
+        );
+        release.countDown();
+        MatcherAssert.assertThat(slow.get(), Matchers.is("slow"));
+    }
+
+    /**
+     * Pairs with lazy values counting computations.
+     * @param calls Computations.
+     * @return Pairs.
+     */
+    private static Map<CharSequence, Object> pairs(final AtomicInteger calls) {
+        final Map<CharSequence, Object> item = new HashMap<>(1);
+        item.put(
+            "label",
+            (Callable<String>) () -> {
+                calls.incrementAndGet();
+                return "x";
+            }
+        );
+        final Map<CharSequence, Object> pairs = new HashMap<>(3);
+        pairs.put(
+            "shown",
+            (Supplier<Boolean>) () -> {
+                calls.incrementAndGet();
+                return true;
+            }
+        );
+        pairs.put(
+            "name",
+            (Supplier<String>) () -> {
+                calls.incrementAndGet();
+                return "Ann";
+            }
+        );
+        pairs.put("items", new ListOf<>(item, item));
+        return pairs;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.bytecode.Generated;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Parallel class.
+ * @since 1.4
+ */
+final class ParallelTest {
+    /**
+     * Template with nested sections.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "<table>{{#rows}}<tr>{{#cells}}<td>{{.}}{{name}}</td>{{/cells}}",
+        "{{^cells}}{{title}}{{/cells}}</tr>{{/rows}}</table>"
+    );
+
+    /**
+     * Should render the same as sequentially.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderAsSequentially() throws Exception {
+        final Map<CharSequence, Object> pairs = ParallelTest.pairs(5000);
+        final String expected = new Mustache(ParallelTest.CONTENT).supply(pairs);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            MatcherAssert.assertThat(
+                new Mustache(
+                    ParallelTest.CONTENT,
+                    new Interpreted(
+                        new Partials(),
+                        new Parallel(100, ForkJoinPool.commonPool(), 4)
+                    )
+                ).supply(pairs),
+                Matchers.is(expected)
+            );
+            MatcherAssert.assertThat(
+                new Mustache(
+                    ParallelTest.CONTENT,
+                    new Generated(new Partials(), new Parallel(1, executor, 4))
+                ).supply(pairs),
+                Matchers.is(expected)
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Should render on a thread of its own saturated executor.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderOnOwnExecutor() throws Exception {
+        final Map<CharSequence, Object> pairs = ParallelTest.pairs(1000);
+        final String expected = new Mustache(ParallelTest.CONTENT).supply(pairs);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Mustache template = new Mustache(
+                ParallelTest.CONTENT,
+                new Interpreted(new Partials(), new Parallel(1, executor, 4))
+            );
+            MatcherAssert.assertThat(
+                Assertions.assertTimeoutPreemptively(
+                    Duration.ofSeconds(10),
+                    () -> executor.submit(() -> template.supply(pairs)).get()
+                ),
+                Matchers.is(expected)
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Should fail with exception of value rendered by executor.
+     */
+    @Test
+    void shouldFailAsValue() {
+        final List<Object> rows = new ArrayList<>(101);
+        for (int idx = 0; idx < 100; idx += 1) {
+            final Map<CharSequence, Object> row = new HashMap<>(1);
+            row.put("name", idx);
+            rows.add(row);
+        }
+        final Map<CharSequence, Object> last = new HashMap<>(1);
+        last.put(
+            "name",
+            (Supplier<Object>) () -> {
+                throw new IllegalArgumentException("broken");
+            }
+        );
+        rows.add(last);
+        final Map<CharSequence, Object> pairs = new HashMap<>(1);
+        pairs.put("rows", rows);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Mustache(
+                "{{#rows}}{{name}}{{/rows}}",
+                new Interpreted(
+                    new Partials(),
+                    new Parallel(1, ForkJoinPool.commonPool(), 4)
+                )
+            ).supply(pairs)
+        );
+    }
+
+    /**
+     * Should render every item when executor rejects chunks.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderRejected() throws Exception {
+        final Map<CharSequence, Object> pairs = ParallelTest.pairs(1000);
+        final AtomicInteger accepted = new AtomicInteger();
+        MatcherAssert.assertThat(
+            new Mustache(
+                ParallelTest.CONTENT,
+                new Interpreted(
+                    new Partials(),
+                    new Parallel(
+                        1,
+                        task -> {
+                            if (accepted.incrementAndGet() > 2) {
+                                throw new RejectedExecutionException("full");
+                            }
+                            new Thread(task).start();
+                        },
+                        4
+                    )
+                )
+            ).supply(pairs),
+            Matchers.is(new Mustache(ParallelTest.CONTENT).supply(pairs))
+        );
+    }
+
+    /**
+     * Pairs with rows of cells.
+     * @param size Number of rows.
+     * @return Pairs.
+     */
+    private static Map<CharSequence, Object> pairs(final int size) {
+        final List<Object> rows = new ArrayList<>(size);
+        for (int idx = 0; idx < size; idx += 1) {
+            final Map<CharSequence, Object> row = new HashMap<>(2);
+            row.put("name", idx);
+            if (idx % 3 == 0) {
+                final List<Object> cells = new ArrayList<>(2);
+                cells.add(new HashMap<>(0));
+                cells.add(new HashMap<>(0));
+                row.put("cells", cells);
+            }
+            rows.add(row);
+        }
+        final Map<CharSequence, Object> pairs = new HashMap<>(2);
+        pairs.put("rows", rows);
+        pairs.put("title", "none");
+        return pairs;
+    }
+}
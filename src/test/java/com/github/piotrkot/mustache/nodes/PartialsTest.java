@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Delimiters;
+import com.github.piotrkot.mustache.Node;
+import com.github.piotrkot.mustache.metrics.Listened;
+import com.github.piotrkot.mustache.metrics.Metrics;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for Partials class.
+ * @since 1.4
+ */
+final class PartialsTest {
+    /**
+     * Should render stream many times.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderStreamTwice() throws Exception {
+        final Partials partials = new Partials();
+        final Object stream = new ByteArrayInputStream(
+            "<{{x}}>".getBytes(StandardCharsets.UTF_8)
+        );
+        PartialsTest.render(partials.node(new Delimiters("{{", "}}"), stream));
+        MatcherAssert.assertThat(
+            PartialsTest.render(
+                partials.node(new Delimiters("{{", "}}"), stream)
+            ),
+            Matchers.is("<X>")
+        );
+    }
+
+    /**
+     * Should compile file again when changed.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRecompileChanged(@TempDir final Path dir) throws Exception {
+        final Path path = PartialsTest.write(dir.resolve("a"), "A{{x}}");
+        final Partials partials = new Partials();
+        final Node node = partials.node(new Delimiters("{{", "}}"), path);
+        MatcherAssert.assertThat(
+            partials.node(new Delimiters("{{", "}}"), path),
+            Matchers.sameInstance(node)
+        );
+        PartialsTest.write(path, "AA{{x}}");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0));
+        MatcherAssert.assertThat(
+            PartialsTest.render(partials.node(new Delimiters("{{", "}}"), path)),
+            Matchers.is("AAX")
+        );
+    }
+
+    /**
+     * Should compile file again when watch service reports change.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRecompileWatched(@TempDir final Path dir) throws Exception {
+        final Path path = PartialsTest.write(dir.resolve("b"), "B{{x}}");
+        try (WatchService watch = FileSystems.getDefault().newWatchService()) {
+            final Partials partials = new Partials(watch);
+            partials.node(new Delimiters("{{", "}}"), path);
+            PartialsTest.write(path, "BB{{x}}");
+            String result = "";
+            for (int idx = 0; idx < 100 && !"BBX".equals(result); idx += 1) {
+                Thread.sleep(100L);
+                result = PartialsTest.render(
+                    partials.node(new Delimiters("{{", "}}"), path)
+                );
+            }
+            MatcherAssert.assertThat(result, Matchers.is("BBX"));
+        }
+    }
+
+    /**
+     * Should render nothing for missing file.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderMissingFile(@TempDir final Path dir) throws Exception {
+        MatcherAssert.assertThat(
+            PartialsTest.render(
+                new Partials().node(
+                    new Delimiters("{{", "}}"), dir.resolve("missing")
+                )
+            ),
+            Matchers.is("")
+        );
+    }
+
+    /**
+     * Should compile contents into target of the template.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldCompileIntoTarget() throws Exception {
+        final Metrics metrics = new Metrics();
+        PartialsTest.render(
+            new Partials().node(
+                new Delimiters("{{", "}}"), "<{{x}}>",
+                new Listened(new Interpreted(), metrics.listener("prtl"))
+            )
+        );
+        MatcherAssert.assertThat(
+            metrics.stats().get("prtl").counters(),
+            Matchers.hasEntry("variables", 1L)
+        );
+    }
+
+    /**
+     * Renders node.
+     * @param node Node.
+     * @return Rendered text.
+     * @throws Exception If fails.
+     */
+    private static String render(final Node node) throws Exception {
+        final StringBuilder result = new StringBuilder();
+        node.render(new MapOf<>("x", "X"), result);
+        return result.toString();
+    }
+
+    /**
+     * Writes file.
+     * @param path Path.
+     * @param content Content.
+     * @return Path.
+     * @throws Exception If fails.
+     */
+    private static Path write(final Path path, final String content)
+        throws Exception {
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.nodes;
+
+import com.github.piotrkot.mustache.Context;
+import com.github.piotrkot.mustache.Mustache;
+import com.github.piotrkot.mustache.Slotted;
+import com.github.piotrkot.mustache.bytecode.Generated;
+import java.util.Map;
+import org.cactoos.list.ListOf;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for Slot class.
+ * @since 1.4
+ */
+final class SlotTest {
+    /**
+     * Template with dotted names.
+     */
+    private static final String CONTENT = String.join(
+        "",
+        "{{user.address.city}}/{{user.name}}/{{user.none.city}}",
+        "{{#user.tags}}[{{.}}{{value}}]{{/user.tags}}{{^user.none}}-{{/user.none}}"
+    );
+
+    /**
+     * Should walk dotted names through maps and objects.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldWalkDottedNames() throws Exception {
+        final Map<CharSequence, Object> pairs = new MapOf<>(
+            "user",
+            new MapOf<CharSequence, Object>(
+                new MapEntry<>("address", new SlotTest.Address("Paris")),
+                new MapEntry<>("name", "Ann"),
+                new MapEntry<>(
+                    "tags", new ListOf<>(new MapOf<>("value", "a"))
+                ),
+                new MapEntry<>("none", new ListOf<>())
+            )
+        );
+        final Slotted[] templates = {
+            new Mustache(SlotTest.CONTENT),
+            new Mustache(SlotTest.CONTENT, new Generated()),
+        };
+        for (final Slotted template : templates) {
+            MatcherAssert.assertThat(
+                template.supply(pairs),
+                Matchers.is("Paris/Ann/[a]-")
+            );
+            final Context context = template.context();
+            MatcherAssert.assertThat(
+                template.supply(context.set("user", pairs.get("user"))),
+                Matchers.is("Paris/Ann/[a]-")
+            );
+        }
+    }
+
+    /**
+     * Should find names of enclosing context within sections.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldFindEnclosingInSections() throws Exception {
+        final Slotted[] templates = {
+            new Mustache("{{#l}}{{a}}{{b}}|{{/l}}"),
+            new Mustache("{{#l}}{{a}}{{b}}|{{/l}}", new Generated()),
+        };
+        for (final Slotted template : templates) {
+            MatcherAssert.assertThat(
+                template.supply(
+                    template.context().set("a", "A").set(
+                        "l",
+                        new ListOf<>(
+                            new MapOf<>("b", "1"),
+                            new MapOf<CharSequence, Object>(
+                                new MapEntry<>("a", "x"),
+                                new MapEntry<>("b", "2")
+                            )
+                        )
+                    )
+                ),
+                Matchers.is("A1|x2|")
+            );
+        }
+    }
+
+    /**
+     * Should prefer dotted name as it is.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldPreferLiteralName() throws Exception {
+        MatcherAssert.assertThat(
+            new Mustache("{{a.b}}").supply(
+                new MapOf<CharSequence, Object>(
+                    new MapEntry<>("a.b", "literal"),
+                    new MapEntry<>("a", new MapOf<>("b", "path"))
+                )
+            ),
+            Matchers.is("literal")
+        );
+    }
+
+    /**
+     * Address.
+     * @since 1.4
+     */
+    private static final class Address {
+        /**
+         * City.
+         */
+        private final String twn;
+
+        /**
+         * Constructor.
+         * @param city City.
+         */
+        Address(final String city) {
+            this.twn = city;
+        }
+
+        /**
+         * City.
+         * @return City.
+         */
+        public String getCity() {
+            return this.twn;
+        }
+    }
+}
@@ -103,6 +103,26 @@ final class VariableTest {
         );
     }
 
+    /**
+     * Should render variable after unclosed section.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRenderVariableAfterUnclosed() throws Exception {
+        MatcherAssert.assertThat(
+            new Variable(
+                new SquareIndicate()
+            ).render(
+                "[[a]][[#s]][[b]]",
+                new MapOf<CharSequence, Object>(
+                    new MapEntry<>("a", "A"),
+                    new MapEntry<>("b", "B")
+                )
+            ),
+            Matchers.is("[[a]][[#s]]B")
+        );
+    }
+
     /**
      * Should render valid tags.
      * @throws Exception If fails.
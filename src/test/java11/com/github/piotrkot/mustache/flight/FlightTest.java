@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 piotrkot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.piotrkot.mustache.flight;
+
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for Flight class.
+ * @since 1.4
+ */
+final class FlightTest {
+    /**
+     * Should record render event with its fields.
+     * @param dir Temporary directory.
+     * @throws Exception If fails.
+     */
+    @Test
+    void shouldRecordRender(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("render.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.github.piotrkot.mustache.Render")
+                .withoutThreshold();
+            recording.start();
+            new Flight().render("greeting").end(5L);
+            recording.stop();
+            recording.dump(file);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        MatcherAssert.assertThat(events, Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+            events.get(0).getString("template"),
+            Matchers.is("greeting")
+        );
+        MatcherAssert.assertThat(
+            events.get(0).getLong("output"),
+            Matchers.is(5L)
+        );
+    }
+
+    /**
+     * Should not record events of disabled type.
+     */
+    @Test
+    void shouldSkipDisabled() {
+        MatcherAssert.assertThat(
+            new Flight().section("rows").recorded(),
+            Matchers.is(false)
+        );
+    }
+}